@@ -0,0 +1,74 @@
+package com.project.benchmarks;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.project.entity.DataBaseConnectivity;
+import com.project.entity.Task;
+import com.project.enums.TaskPriority;
+import com.project.enums.TaskStatus;
+
+/**
+ * Jeux de données et base H2 embarquée partagés par les benchmarks.
+ */
+final class BenchmarkData {
+
+    // Schéma de la base MySQL de l'application, en mode de compatibilité MySQL
+    private static final String[] SCHEMA = {
+            "CREATE TABLE projets (id INT AUTO_INCREMENT PRIMARY KEY, nom VARCHAR(255) NOT NULL UNIQUE,"
+                    + " description VARCHAR(1000), date_debut DATE, date_fin DATE, statut VARCHAR(20),"
+                    + " progression DOUBLE DEFAULT 0, version INT NOT NULL DEFAULT 0)",
+            "CREATE TABLE taches (id INT AUTO_INCREMENT PRIMARY KEY, projet_id INT, nom VARCHAR(255) NOT NULL UNIQUE,"
+                    + " description VARCHAR(1000), date_echeance DATE, statut VARCHAR(20), priorite VARCHAR(20),"
+                    + " version INT NOT NULL DEFAULT 0)",
+            "CREATE INDEX idx_taches_statut ON taches (statut)",
+            "CREATE INDEX idx_taches_projet ON taches (projet_id)",
+    };
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Tâches déterministes : statuts et priorités répartis uniformément, échéances sur un an.
+     */
+    static List<Task> tasks(int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        LocalDate today = LocalDate.now();
+        TaskStatus[] statuses = TaskStatus.values();
+        TaskPriority[] priorities = TaskPriority.values();
+        for (int i = 0; i < count; i++) {
+            tasks.add(new Task("tache-" + i, "Description de la tâche " + i,
+                    today.plusDays(i % 365),
+                    statuses[i % statuses.length],
+                    priorities[i % priorities.length]));
+        }
+        return tasks;
+    }
+
+    /**
+     * Ouvre une base H2 en mémoire vide, au schéma de l'application.
+     */
+    static DataBaseConnectivity openH2(String name) throws SQLException {
+        return openH2(name, 4);
+    }
+
+    static DataBaseConnectivity openH2(String name, int poolSize) throws SQLException {
+        DataBaseConnectivity db = new DataBaseConnectivity(
+                "jdbc:h2:mem:" + name + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "", poolSize);
+        db.connect();
+        for (String ddl : SCHEMA) {
+            db.executeUpdate(ddl);
+        }
+        return db;
+    }
+
+    /**
+     * Supprime la base ouverte par {@link #openH2(String)}.
+     */
+    static void dropH2(DataBaseConnectivity db) throws SQLException {
+        db.executeUpdate("DROP ALL OBJECTS");
+        db.disconnect();
+    }
+}
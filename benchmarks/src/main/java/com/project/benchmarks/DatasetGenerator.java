@@ -0,0 +1,99 @@
+package com.project.benchmarks;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.project.entity.Project;
+import com.project.entity.Task;
+import com.project.enums.ProjectStatus;
+import com.project.enums.TaskPriority;
+import com.project.enums.TaskStatus;
+
+/**
+ * Génère un jeu de projets et de tâches entièrement déterminé par une graine :
+ * deux exécutions avec la même graine produisent les mêmes noms, descriptions,
+ * statuts et priorités. Les échéances sont relatives à {@code today} et toujours
+ * futures, pour passer la validation de TaskService.
+ */
+public class DatasetGenerator {
+
+    private static final String[] WORDS = {
+            "analyse", "migration", "refonte", "audit", "livraison", "tests", "documentation",
+            "recette", "déploiement", "sécurité", "performance", "interface", "client", "données" };
+
+    private final long seed;
+    private final LocalDate today;
+
+    public DatasetGenerator(long seed) {
+        this(seed, LocalDate.now());
+    }
+
+    public DatasetGenerator(long seed, LocalDate today) {
+        this.seed = seed;
+        this.today = today;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public static String projectName(int project) {
+        return "projet-" + project;
+    }
+
+    public static String taskName(int project, int task) {
+        return "p" + project + "-tache-" + task;
+    }
+
+    public List<Project> projects(int count) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Project> projects = new ArrayList<>(count);
+        for (int p = 0; p < count; p++) {
+            Project project = new Project(projectName(p), sentence(random, 6));
+            project.setFrom(today.minusDays(random.nextInt(365)));
+            project.setStatus(pick(random, ProjectStatus.values()));
+            projects.add(project);
+        }
+        return projects;
+    }
+
+    /**
+     * Tâches du projet {@code project} ; chaque projet a sa propre suite aléatoire,
+     * indépendante du nombre de projets générés.
+     */
+    public List<Task> tasks(int project, int count) {
+        SplittableRandom random = new SplittableRandom(seed * 31 + project);
+        List<Task> tasks = new ArrayList<>(count);
+        for (int t = 0; t < count; t++) {
+            tasks.add(newTask(random, taskName(project, t)));
+        }
+        return tasks;
+    }
+
+    /**
+     * Nouvelle tâche aléatoire tirée de {@code random}, pour les créations pendant la charge.
+     */
+    public Task newTask(SplittableRandom random, String name) {
+        return new Task(name, sentence(random, 8),
+                today.plusDays(1 + random.nextInt(365)),
+                pick(random, TaskStatus.values()),
+                pick(random, TaskPriority.values()));
+    }
+
+    static <T> T pick(SplittableRandom random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String sentence(SplittableRandom random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+}
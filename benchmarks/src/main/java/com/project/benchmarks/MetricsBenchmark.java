@@ -0,0 +1,56 @@
+package com.project.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.project.metrics.LatencyHistogram;
+import com.project.metrics.MethodTimer;
+
+/**
+ * Surcoût de l'instrumentation sur le chemin critique : enregistrement d'une latence
+ * seul, puis appel mesuré complet (deux lectures d'horloge comprises), sur un et
+ * quatre threads pour voir l'effet de la contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsBenchmark {
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final MethodTimer timer = new MethodTimer("benchmark");
+    private long value = 12_345;
+
+    @Benchmark
+    public void record() {
+        histogram.record(value++ & 0xFFFFF);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordContended() {
+        histogram.record(value & 0xFFFFF);
+    }
+
+    @Benchmark
+    public Object timedCall() {
+        return timer.time(() -> timer);
+    }
+
+    @Benchmark
+    public long clockOnly() {
+        return System.nanoTime();
+    }
+}
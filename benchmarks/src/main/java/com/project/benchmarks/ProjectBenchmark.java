@@ -0,0 +1,75 @@
+package com.project.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.project.entity.Project;
+import com.project.entity.Task;
+import com.project.enums.TaskStatus;
+
+/**
+ * Coût des opérations du domaine sur un projet de 10² à 10⁶ tâches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectBenchmark {
+
+    @Param({ "100", "10000", "1000000" })
+    int taskCount;
+
+    private List<Task> tasks;
+    private Project populated;
+    private Task toggled;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tasks = BenchmarkData.tasks(taskCount);
+        populated = new Project("peuplé", "projet de référence");
+        BenchmarkData.tasks(taskCount).forEach(populated::addTask);
+        toggled = populated.getTasks().get(taskCount / 2);
+    }
+
+    /**
+     * Remplit un projet vide avec toutes les tâches : coût total de taskCount appels à addTask.
+     */
+    @Benchmark
+    public Project addAllTasks() {
+        Project project = new Project("bench", "remplissage");
+        for (Task task : tasks) {
+            project.addTask(task);
+        }
+        return project;
+    }
+
+    @Benchmark
+    public double updateProgression() {
+        populated.updateProgression();
+        return populated.getProgression();
+    }
+
+    /**
+     * Changement de statut d'une tâche, qui met à jour la progression de son projet.
+     */
+    @Benchmark
+    public double toggleTaskStatus() {
+        toggled.setStatus(toggled.getStatus() == TaskStatus.DONE ? TaskStatus.TODO : TaskStatus.DONE);
+        return populated.getProgression();
+    }
+}
@@ -0,0 +1,74 @@
+package com.project.benchmarks;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.project.entity.Task;
+import com.project.entity.TaskWithProject;
+import com.project.services.OverdueTracker;
+import com.project.services.ReminderService;
+
+/**
+ * Détection des tâches en retard : recherche des retards dans l'ensemble trié
+ * d'OverdueTracker et replanification d'une échéance dans ReminderService.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReminderBenchmark {
+
+    @Param({ "1000", "100000" })
+    int taskCount;
+
+    private OverdueTracker tracker;
+    private ReminderService reminders;
+    private LocalDate today;
+    private Task moved;
+    private int shift;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Task> tasks = BenchmarkData.tasks(taskCount);
+        tracker = new OverdueTracker();
+        tasks.forEach(t -> tracker.taskAdded(t, null));
+        // Jamais démarré : les rappels ne sont pas émis pendant la mesure
+        reminders = new ReminderService(tasks, Clock.system(ZoneId.systemDefault()));
+        // Environ un dixième des tâches est en retard
+        today = LocalDate.now().plusDays(36);
+        moved = tasks.get(taskCount / 2);
+    }
+
+    @Benchmark
+    public List<TaskWithProject> overdueTasks() {
+        return tracker.getOverdueTasks(today);
+    }
+
+    /**
+     * Report d'une échéance : la tâche change de place dans l'ensemble trié.
+     */
+    @Benchmark
+    public int rescheduleTask() {
+        moved.setDueDate(LocalDate.now().plusDays(shift++ % 365));
+        reminders.track(moved);
+        return reminders.getPendingCount();
+    }
+}
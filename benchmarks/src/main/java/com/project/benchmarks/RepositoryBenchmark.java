@@ -0,0 +1,100 @@
+package com.project.benchmarks;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.project.entity.DataBaseConnectivity;
+import com.project.entity.Task;
+import com.project.enums.TaskStatus;
+import com.project.interfaces.ITaskRepository;
+import com.project.repository.InMemoryProjectRepository;
+import com.project.repository.InMemoryTaskRepository;
+import com.project.repository.TaskRepository;
+
+/**
+ * Chemins de lecture des repositories de tâches, en mémoire et sur H2 embarquée
+ * (le vrai TaskRepository JDBC, avec pool de connexions et cache de statements).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    @Param({ "memory", "h2" })
+    String backend;
+
+    @Param({ "1000", "100000" })
+    int taskCount;
+
+    private ITaskRepository repository;
+    private DataBaseConnectivity db;
+    // Identifiants générés à l'insertion, dans l'ordre des noms tache-0, tache-1...
+    private int[] ids;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        if (backend.equals("h2")) {
+            db = BenchmarkData.openH2("repository");
+            repository = new TaskRepository(db);
+        } else {
+            repository = new InMemoryTaskRepository(new InMemoryProjectRepository());
+        }
+        List<Task> tasks = BenchmarkData.tasks(taskCount);
+        repository.addAll(tasks, 0);
+        ids = tasks.stream().mapToInt(Task::getId).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        if (db != null) {
+            BenchmarkData.dropH2(db);
+        }
+    }
+
+    @Benchmark
+    public List<Task> getAll() throws SQLException {
+        return repository.getAll();
+    }
+
+    /**
+     * Recherche par nom en parcourant les tâches existantes, pour ne pas toujours lire la même ligne.
+     */
+    @Benchmark
+    public Task findByName() throws SQLException {
+        next = (next + 7919) % taskCount;
+        return repository.findByName("tache-" + next);
+    }
+
+    /**
+     * Même parcours que {@link #findByName()}, par clé entière.
+     */
+    @Benchmark
+    public Task findById() throws SQLException {
+        next = (next + 7919) % taskCount;
+        return repository.findById(ids[next]);
+    }
+
+    @Benchmark
+    public List<Task> findByStatus() throws SQLException {
+        return repository.findByStatus(TaskStatus.IN_PROGRESS);
+    }
+}
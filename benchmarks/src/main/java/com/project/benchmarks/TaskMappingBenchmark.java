@@ -0,0 +1,74 @@
+package com.project.benchmarks;
+
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.h2.tools.SimpleResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.project.enums.TaskPriority;
+import com.project.enums.TaskStatus;
+import com.project.repository.TaskRepository;
+
+/**
+ * Conversion d'une ligne de la table taches en Task, sur un ResultSet en mémoire
+ * pour isoler le coût du mapping de celui du driver.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskMappingBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private SimpleResultSet rows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        rows = new SimpleResultSet();
+        rows.setAutoClose(false);
+        rows.addColumn("id", Types.INTEGER, 10, 0);
+        rows.addColumn("projet_id", Types.INTEGER, 10, 0);
+        rows.addColumn("nom", Types.VARCHAR, 255, 0);
+        rows.addColumn("description", Types.VARCHAR, 1000, 0);
+        rows.addColumn("date_echeance", Types.DATE, 10, 0);
+        rows.addColumn("statut", Types.VARCHAR, 20, 0);
+        rows.addColumn("priorite", Types.VARCHAR, 20, 0);
+        rows.addColumn("version", Types.INTEGER, 10, 0);
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < ROWS; i++) {
+            rows.addRow(i, i % 10, "tache-" + i, "Description de la tâche " + i,
+                    Date.valueOf(today.plusDays(i % 365)),
+                    TaskStatus.values()[i % 3].name(),
+                    TaskPriority.values()[i % 3].name(),
+                    0);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void mapTask(Blackhole blackhole) throws SQLException {
+        rows.beforeFirst();
+        while (rows.next()) {
+            blackhole.consume(TaskRepository.mapTask(rows));
+        }
+    }
+}
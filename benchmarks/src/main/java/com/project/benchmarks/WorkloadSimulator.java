@@ -0,0 +1,363 @@
+package com.project.benchmarks;
+
+import java.io.PrintStream;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.Histogram;
+
+import com.project.entity.DataBaseConnectivity;
+import com.project.entity.Project;
+import com.project.entity.Task;
+import com.project.enums.TaskStatus;
+import com.project.repository.CachingProjectRepository;
+import com.project.repository.CachingTaskRepository;
+import com.project.repository.InMemoryProjectRepository;
+import com.project.repository.InMemoryTaskRepository;
+import com.project.repository.ProjectRepository;
+import com.project.repository.TaskRepository;
+import com.project.services.AsyncExecutor;
+import com.project.services.OverdueTracker;
+import com.project.services.ProjectRollupTracker;
+import com.project.services.ProjectService;
+import com.project.services.TaskService;
+
+/**
+ * Simulateur de charge : peuple ProjectService/TaskService avec un jeu de données
+ * déterministe, puis les sollicite depuis de nombreux workers concurrents selon un
+ * mélange d'opérations, et rapporte débit et percentiles de latence par opération.
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.project.benchmarks.WorkloadSimulator \
+ *     --backend=h2 --projects=100 --tasks=1000 --workers=32 --warmup=5 --duration=30 \
+ *     --mix=create=10,update=20,find=60,report=10 --seed=42
+ * </pre>
+ *
+ * Backends : {@code memory} (repositories en mémoire), {@code h2} (base embarquée)
+ * ou {@code jdbc} avec {@code --url}, {@code --user}, {@code --password} vers une base
+ * existante au schéma de l'application. Les repositories JDBC sont enveloppés dans
+ * leurs caches, comme dans l'application. {@code --threads=virtual} exécute les
+ * workers sur des threads virtuels.
+ */
+public class WorkloadSimulator {
+
+    enum Operation {
+        CREATE, UPDATE, FIND, REPORT
+    }
+
+    private final ProjectService projectService;
+    private final TaskService taskService;
+    private final DatasetGenerator generator;
+    private final int projects;
+    private final int tasksPerProject;
+    private final Operation[] mix;
+    // Projets insérés par seed(), avec leur identifiant, pour rattacher les créations
+    private List<Project> seeded = List.of();
+
+    private volatile boolean measuring;
+    private volatile boolean stopped;
+
+    WorkloadSimulator(ProjectService projectService, TaskService taskService, DatasetGenerator generator,
+            int projects, int tasksPerProject, Map<Operation, Integer> weights) {
+        this.projectService = projectService;
+        this.taskService = taskService;
+        this.generator = generator;
+        this.projects = projects;
+        this.tasksPerProject = tasksPerProject;
+        this.mix = expand(weights);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        int projects = Integer.parseInt(options.getOrDefault("projects", "100"));
+        int tasks = Integer.parseInt(options.getOrDefault("tasks", "1000"));
+        int workers = Integer.parseInt(options.getOrDefault("workers", "16"));
+        int pool = Integer.parseInt(options.getOrDefault("pool", "10"));
+        long warmup = Long.parseLong(options.getOrDefault("warmup", "5"));
+        long duration = Long.parseLong(options.getOrDefault("duration", "30"));
+        boolean virtual = options.getOrDefault("threads", "platform").equals("virtual");
+        String backend = options.getOrDefault("backend", "memory");
+        Map<Operation, Integer> weights = parseMix(options.getOrDefault("mix", "create=10,update=20,find=60,report=10"));
+
+        DataBaseConnectivity db = null;
+        ProjectRollupTracker rollups = new ProjectRollupTracker();
+        AsyncExecutor async = new AsyncExecutor(pool);
+        ProjectService projectService;
+        TaskService taskService;
+        switch (backend) {
+            case "memory" -> {
+                InMemoryProjectRepository projectRepository = new InMemoryProjectRepository();
+                projectService = new ProjectService(projectRepository, rollups, async);
+                taskService = new TaskService(new InMemoryTaskRepository(projectRepository), async);
+            }
+            case "h2", "jdbc" -> {
+                db = backend.equals("h2")
+                        ? BenchmarkData.openH2("workload", pool)
+                        : new DataBaseConnectivity(required(options, "url"), options.getOrDefault("user", "root"),
+                                options.getOrDefault("password", ""), pool);
+                if (backend.equals("jdbc")) {
+                    db.connect();
+                }
+                projectService = new ProjectService(new CachingProjectRepository(new ProjectRepository(db)), rollups, async);
+                taskService = new TaskService(new CachingTaskRepository(new TaskRepository(db)), async);
+            }
+            default -> throw new IllegalArgumentException("Backend inconnu: " + backend);
+        }
+        // Mêmes abonnés que l'application, pour mesurer aussi leur coût
+        taskService.addListener(rollups);
+        taskService.addListener(new OverdueTracker());
+
+        WorkloadSimulator simulator = new WorkloadSimulator(projectService, taskService,
+                new DatasetGenerator(seed), projects, tasks, weights);
+        try {
+            long start = System.nanoTime();
+            simulator.seed();
+            System.out.printf("Jeu de données: %d projets × %d tâches (graine %d) en %d ms%n",
+                    projects, tasks, seed, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            System.out.printf("Charge: %d workers %s, backend %s, mélange %s, %d s + %d s de chauffe%n",
+                    workers, virtual ? "virtuels" : "plateforme", backend, weights, duration, warmup);
+            simulator.run(workers, virtual, warmup, duration).print(System.out);
+        } finally {
+            async.close();
+            if (db != null) {
+                db.disconnect();
+            }
+        }
+    }
+
+    /**
+     * Insère le jeu de données par lots, comme l'import.
+     */
+    void seed() throws SQLException {
+        List<Project> inserted = generator.projects(projects);
+        projectService.addProjects(inserted);
+        for (int p = 0; p < projects; p++) {
+            Project project = inserted.get(p);
+            taskService.addTasks(generator.tasks(p, tasksPerProject), project.getId(), project.getName());
+        }
+        seeded = inserted;
+    }
+
+    /**
+     * Lance les workers, ignore les mesures pendant {@code warmupSeconds} puis mesure
+     * pendant {@code durationSeconds}.
+     */
+    WorkloadReport run(int workers, boolean virtual, long warmupSeconds, long durationSeconds)
+            throws InterruptedException {
+        List<Worker> running = new ArrayList<>(workers);
+        List<Thread> threads = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            Worker worker = new Worker(w);
+            running.add(worker);
+            Thread.Builder builder = virtual ? Thread.ofVirtual() : Thread.ofPlatform().daemon(true);
+            threads.add(builder.name("workload-" + w).start(worker));
+        }
+
+        TimeUnit.SECONDS.sleep(warmupSeconds);
+        measuring = true;
+        long start = System.nanoTime();
+        TimeUnit.SECONDS.sleep(durationSeconds);
+        stopped = true;
+        long elapsed = System.nanoTime() - start;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        WorkloadReport report = new WorkloadReport(elapsed);
+        running.forEach(report::add);
+        return report;
+    }
+
+    private final class Worker implements Runnable {
+        private final int id;
+        private final SplittableRandom random;
+        private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+        private final Map<Operation, Long> errors = new EnumMap<>(Operation.class);
+        private final Map<Operation, String> lastError = new EnumMap<>(Operation.class);
+        private int created;
+
+        private Worker(int id) {
+            this.id = id;
+            // Une suite par worker, dérivée de la graine : mêmes opérations à chaque exécution
+            this.random = new SplittableRandom(seedFor(id));
+            for (Operation op : Operation.values()) {
+                latencies.put(op, new Histogram(3));
+                errors.put(op, 0L);
+            }
+        }
+
+        @Override
+        public void run() {
+            while (!stopped) {
+                Operation op = mix[random.nextInt(mix.length)];
+                long start = System.nanoTime();
+                try {
+                    execute(op);
+                } catch (Exception e) {
+                    if (measuring) {
+                        errors.merge(op, 1L, Long::sum);
+                        lastError.put(op, e.toString());
+                    }
+                    continue;
+                }
+                if (measuring) {
+                    latencies.get(op).recordValue(System.nanoTime() - start);
+                }
+            }
+        }
+
+        private void execute(Operation op) throws Exception {
+            switch (op) {
+                case CREATE -> {
+                    Task task = generator.newTask(random, "w" + id + "-nouvelle-" + created++);
+                    taskService.addTaskToProject(task, seeded.get(random.nextInt(seeded.size())));
+                }
+                case UPDATE -> {
+                    // Lecture-modification-écriture rejouée en cas de conflit de version
+                    TaskStatus status = DatasetGenerator.pick(random, TaskStatus.values());
+                    taskService.updateTask(randomTaskName(), t -> t.setStatus(status));
+                }
+                case FIND -> {
+                    if (random.nextBoolean()) {
+                        projectService.findByName(DatasetGenerator.projectName(random.nextInt(projects)));
+                    } else {
+                        taskService.findByName(randomTaskName());
+                    }
+                }
+                case REPORT -> {
+                    projectService.getStatistics();
+                    taskService.countTasksByStatus();
+                }
+            }
+        }
+
+        private String randomTaskName() {
+            return DatasetGenerator.taskName(random.nextInt(projects), random.nextInt(tasksPerProject));
+        }
+    }
+
+    private long seedFor(int worker) {
+        return generator.getSeed() * 0x9E3779B97F4A7C15L + worker;
+    }
+
+    /**
+     * Débit et latences cumulés de tous les workers sur la fenêtre de mesure.
+     */
+    static final class WorkloadReport {
+        private final long elapsedNanos;
+        private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+        private final Map<Operation, Long> errors = new EnumMap<>(Operation.class);
+        private final Map<Operation, String> lastError = new EnumMap<>(Operation.class);
+
+        private WorkloadReport(long elapsedNanos) {
+            this.elapsedNanos = elapsedNanos;
+            for (Operation op : Operation.values()) {
+                latencies.put(op, new Histogram(3));
+                errors.put(op, 0L);
+            }
+        }
+
+        private void add(Worker worker) {
+            for (Operation op : Operation.values()) {
+                latencies.get(op).add(worker.latencies.get(op));
+                errors.merge(op, worker.errors.get(op), Long::sum);
+                if (worker.lastError.containsKey(op)) {
+                    lastError.put(op, worker.lastError.get(op));
+                }
+            }
+        }
+
+        void print(PrintStream out) {
+            double seconds = elapsedNanos / 1e9;
+            out.printf("%n%-8s %10s %10s %9s %9s %9s %9s %9s %8s%n",
+                    "op", "total", "op/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "erreurs");
+            Histogram all = new Histogram(3);
+            long allErrors = 0;
+            for (Operation op : Operation.values()) {
+                Histogram h = latencies.get(op);
+                all.add(h);
+                allErrors += errors.get(op);
+                printLine(out, op.name().toLowerCase(), h, errors.get(op), seconds);
+            }
+            printLine(out, "total", all, allErrors, seconds);
+            lastError.forEach((op, error) -> out.println("dernière erreur " + op.name().toLowerCase() + ": " + error));
+        }
+
+        private static void printLine(PrintStream out, String name, Histogram h, long errors, double seconds) {
+            out.printf("%-8s %10d %10.0f %9.3f %9.3f %9.3f %9.3f %9.3f %8d%n",
+                    name, h.getTotalCount(), h.getTotalCount() / seconds,
+                    millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(90)),
+                    millis(h.getValueAtPercentile(99)), millis(h.getValueAtPercentile(99.9)),
+                    millis(h.getMaxValue()), errors);
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1e6;
+        }
+    }
+
+    // ==================== OPTIONS ====================
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Option invalide: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(eq < 0 ? arg.substring(2) : arg.substring(2, eq), eq < 0 ? "true" : arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    private static String required(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Option --" + name + " obligatoire");
+        }
+        return value;
+    }
+
+    /**
+     * Lit un mélange de la forme {@code create=10,update=20,find=60,report=10} ; les
+     * opérations absentes ont un poids nul.
+     */
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : mix.split(",")) {
+            String[] kv = part.split("=");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Mélange invalide: " + part);
+            }
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Poids négatif: " + part);
+            }
+            weights.put(Operation.valueOf(kv[0].trim().toUpperCase()), weight);
+        }
+        return weights;
+    }
+
+    /**
+     * Table de tirage : chaque opération y apparaît autant de fois que son poids.
+     */
+    private static Operation[] expand(Map<Operation, Integer> weights) {
+        List<Operation> table = new ArrayList<>();
+        weights.forEach((op, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                table.add(op);
+            }
+        });
+        if (table.isEmpty()) {
+            throw new IllegalArgumentException("Le mélange ne contient aucune opération");
+        }
+        return table.toArray(new Operation[0]);
+    }
+}
@@ -1,38 +1,88 @@
 package com.project;
 
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+import javax.management.JMException;
 
 import com.project.entity.DataBaseConnectivity;
 import com.project.entity.FileManagement;
+import com.project.entity.ImportReport;
 import com.project.entity.Project;
+import com.project.entity.ProjectRollup;
+import com.project.entity.ProjectStatistics;
 import com.project.entity.Task;
+import com.project.entity.TaskState;
+import com.project.entity.TaskWithProject;
+import com.project.enums.ExportFormat;
 import com.project.enums.ProjectStatus;
 import com.project.enums.TaskPriority;
 import com.project.enums.TaskStatus;
 import com.project.exceptions.BusinessException;
+import com.project.exceptions.DataAccessException;
 import com.project.exceptions.DuplicateProjectException;
 import com.project.exceptions.DuplicateTaskException;
+import com.project.jfr.ReportEvent;
+import com.project.metrics.InstrumentedProjectRepository;
+import com.project.metrics.InstrumentedProjectService;
+import com.project.metrics.InstrumentedTaskRepository;
+import com.project.metrics.InstrumentedTaskService;
+import com.project.metrics.MetricsRegistry;
+import com.project.repository.CachingProjectRepository;
+import com.project.repository.CachingTaskRepository;
+import com.project.repository.InMemoryProjectRepository;
+import com.project.repository.InMemoryTaskRepository;
 import com.project.repository.ProjectRepository;
 import com.project.repository.TaskRepository;
+import com.project.server.ApiServer;
+import com.project.services.AsyncExecutor;
+import com.project.services.ExportService;
+import com.project.services.ImportService;
+import com.project.services.OverdueTracker;
+import com.project.services.ProjectRollupTracker;
 import com.project.services.ProjectService;
 import com.project.services.ReminderService;
 import com.project.services.TaskService;
+import com.project.services.TaskStore;
 
 public class ProjectManagementApp {
     private static final Scanner scanner = new Scanner(System.in);
     private static ProjectService projectService;
     private static TaskService taskService;
     private static ReminderService reminderService;
+    private static OverdueTracker overdueTracker;
+    private static TaskStore taskStore;
+    private static DataBaseConnectivity db;
+    private static ExportService exportService;
+    private static ImportService importService;
+    private static AsyncExecutor asyncExecutor;
+    private static MetricsRegistry metrics;
     private static boolean remindersActive = false;
 
     public static void main(String[] args) {
+        List<String> options = Arrays.asList(args);
         try {
-            initializeServices();
-            runApplication();
+            initializeServices(options.contains("--memory"));
+            if (options.contains("--server")) {
+                runServer(Integer.getInteger("server.port", 8080));
+            } else {
+                runApplication();
+            }
         } catch (Exception e) {
             System.err.println("Erreur critique: " + e.getMessage());
             e.printStackTrace();
@@ -41,14 +91,61 @@ public class ProjectManagementApp {
         }
     }
 
-    private static void initializeServices() throws SQLException {
+    private static void initializeServices(boolean inMemory) throws SQLException {
         System.out.println("Initialisation des services...");
-        DataBaseConnectivity db = new DataBaseConnectivity();
-        db.connect();
-
-        projectService = new ProjectService(new ProjectRepository(db));
-        taskService = new TaskService(new TaskRepository(db));
-        reminderService = new ReminderService(taskService.getAllTasks());
+        ProjectRollupTracker rollups = new ProjectRollupTracker();
+        metrics = new MetricsRegistry();
+        if (inMemory) {
+            // Mode embarqué : aucune base MySQL requise, les données vivent le temps du processus
+            InMemoryProjectRepository projectRepository = new InMemoryProjectRepository();
+            asyncExecutor = new AsyncExecutor(Integer.getInteger("async.maxConcurrency",
+                    Runtime.getRuntime().availableProcessors()));
+            projectService = new InstrumentedProjectService(
+                    new InstrumentedProjectRepository(projectRepository, metrics), rollups, asyncExecutor, metrics);
+            taskService = new InstrumentedTaskService(
+                    new InstrumentedTaskRepository(new InMemoryTaskRepository(projectRepository), metrics),
+                    asyncExecutor, metrics);
+            System.out.println("💾 Mode mémoire (sans base de données)");
+        } else {
+            db = new DataBaseConnectivity();
+            db.connect();
+            exportService = new ExportService(db);
+
+            // Autant d'appels asynchrones simultanés que de connexions
+            asyncExecutor = new AsyncExecutor(db.getPool().getMaxSize());
+            // Mesures sous le cache : seuls les accès réels à la base sont chronométrés
+            CachingProjectRepository projects = new CachingProjectRepository(
+                    new InstrumentedProjectRepository(new ProjectRepository(db), metrics));
+            CachingTaskRepository tasks = new CachingTaskRepository(
+                    new InstrumentedTaskRepository(new TaskRepository(db), metrics));
+            projectService = new InstrumentedProjectService(projects, rollups, asyncExecutor, metrics);
+            taskService = new InstrumentedTaskService(tasks, asyncExecutor, metrics);
+            metrics.registerPool(db.getPool());
+            metrics.registerTracer(db.getTracer(), Integer.getInteger("db.trace.top", 10));
+            metrics.registerCache("cache.projets", projects.getCache());
+            metrics.registerCache("cache.taches", tasks.getCache());
+        }
+        metrics.registerAsync(asyncExecutor);
+        startMetrics();
+        // Un seul parcours des tâches pour initialiser les vues incrémentales
+        overdueTracker = new OverdueTracker();
+        List<TaskState> states = new ArrayList<>();
+        try (Stream<TaskWithProject> tasks = taskService.streamAllTasksWithProject()) {
+            tasks.forEach(row -> {
+                overdueTracker.taskAdded(row.getTask(), row.getProjectName());
+                rollups.taskAdded(row.getTask(), row.getProjectName());
+                states.add(TaskState.of(row.getTask(), row.getProjectName()));
+            });
+        }
+        taskStore = new TaskStore();
+        taskStore.addAll(states);
+        taskService.addListener(overdueTracker);
+        taskService.addListener(rollups);
+        taskService.addListener(taskStore);
+        metrics.registerTaskStore(taskStore);
+        reminderService = new ReminderService(taskStore.snapshot());
+        taskService.addListener(reminderService);
+        importService = new ImportService(projectService, taskService);
         System.out.println("✅ Services initialisés avec succès");
     }
 
@@ -69,10 +166,71 @@ public class ProjectManagementApp {
         }
     }
 
+    /**
+     * Mode serveur : expose les services en HTTP/JSON jusqu'à l'arrêt du processus (Ctrl+C).
+     */
+    private static void runServer(int port) throws IOException, InterruptedException {
+        ApiServer server = new ApiServer(projectService, taskService, port);
+        CountDownLatch stopped = new CountDownLatch(1);
+        Thread main = Thread.currentThread();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop(2);
+            stopped.countDown();
+            try {
+                // Laisse main() exécuter cleanup() avant l'arrêt de la JVM
+                main.join(5_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "api-server-shutdown"));
+        server.start();
+        System.out.println("🌐 API disponible sur http://localhost:" + server.getPort() + "/projects");
+        stopped.await();
+    }
+
+    /**
+     * Publie les mesures en JMX et, si metrics.dump.seconds est positif, les écrit
+     * périodiquement sur la sortie standard ou dans metrics.dump.file.
+     */
+    private static void startMetrics() {
+        try {
+            metrics.registerMBeans();
+        } catch (JMException e) {
+            System.err.println("⚠️ Métriques non publiées en JMX: " + e.getMessage());
+        }
+        long period = Long.getLong("metrics.dump.seconds", 0);
+        if (period <= 0) {
+            return;
+        }
+        String file = System.getProperty("metrics.dump.file");
+        PrintStream out = System.out;
+        if (file != null) {
+            try {
+                out = new PrintStream(new FileOutputStream(file, true), true, "UTF-8");
+            } catch (IOException e) {
+                System.err.println("⚠️ Fichier de métriques inaccessible, sortie standard utilisée: " + e.getMessage());
+            }
+        }
+        metrics.startReporter(Duration.ofSeconds(period), out);
+    }
+
     private static void cleanup() {
         if (remindersActive) {
             reminderService.stop();
         }
+        if (asyncExecutor != null) {
+            asyncExecutor.close();
+        }
+        if (metrics != null) {
+            metrics.stopReporter();
+        }
+        if (db != null) {
+            try {
+                db.disconnect();
+            } catch (SQLException e) {
+                System.err.println("❌ Erreur lors de la déconnexion: " + e.getMessage());
+            }
+        }
         scanner.close();
         System.out.println("👋 Application fermée");
     }
@@ -174,30 +332,36 @@ public class ProjectManagementApp {
     }
 
     private static void updateProject() throws SQLException {
-        System.out.print("Nom du projet à modifier: ");
-        String name = scanner.nextLine();
+        try {
+            System.out.print("Nom du projet à modifier: ");
+            String name = scanner.nextLine();
 
-        Project project = projectService.findByName(name);
-        if (project == null) {
-            System.out.println("❌ Projet non trouvé");
-            return;
-        }
+            Project project = projectService.findByName(name);
+            if (project == null) {
+                System.out.println("❌ Projet non trouvé");
+                return;
+            }
 
-        System.out.print("Nouvelle description (laisser vide pour ne pas modifier): ");
-        String newDesc = scanner.nextLine();
-        
-        System.out.print("Nouveau statut (TODO/IN_PROGRESS/DONE) (laisser vide pour ne pas modifier): ");
-        String newStatus = scanner.nextLine();
+            System.out.print("Nouvelle description (laisser vide pour ne pas modifier): ");
+            String newDesc = scanner.nextLine();
 
-        System.out.print("Nouvelle date de fin (AAAA-MM-JJ) (laisser vide pour ne pas modifier): ");
-        String newEndDate = scanner.nextLine();
+            System.out.print("Nouveau statut (TODO/IN_PROGRESS/DONE) (laisser vide pour ne pas modifier): ");
+            String newStatus = scanner.nextLine();
+
+            System.out.print("Nouvelle date de fin (AAAA-MM-JJ) (laisser vide pour ne pas modifier): ");
+            String newEndDate = scanner.nextLine();
 
-        if (!newDesc.isEmpty()) project.setDescription(newDesc);
-        if (!newStatus.isEmpty()) project.setStatus(ProjectStatus.valueOf(newStatus));
-        if (!newEndDate.isEmpty()) project.setTo(LocalDate.parse(newEndDate));
+            // Copie à la version affichée : une modification concurrente est signalée, pas écrasée
+            Project edited = project.copy();
+            if (!newDesc.isEmpty()) edited.setDescription(newDesc);
+            if (!newStatus.isEmpty()) edited.setStatus(ProjectStatus.valueOf(newStatus));
+            if (!newEndDate.isEmpty()) edited.setTo(LocalDate.parse(newEndDate));
 
-        boolean success = projectService.updateProject(project);
-        System.out.println(success ? "✅ Projet mis à jour" : "❌ Échec de la mise à jour");
+            boolean success = projectService.updateProject(edited);
+            System.out.println(success ? "✅ Projet mis à jour" : "❌ Échec de la mise à jour");
+        } catch (BusinessException | DateTimeParseException | IllegalArgumentException e) {
+            System.err.println("❌ Erreur: " + e.getMessage());
+        }
     }
 
     private static void deleteProject() throws SQLException {
@@ -228,7 +392,7 @@ public class ProjectManagementApp {
         }
 
         try {
-            List<Task> tasks = taskService.getAllTasks();
+            List<Task> tasks = taskService.getTasksByProject(project);
             if (tasks.isEmpty()) {
                 System.out.println("ℹ️ Aucune tâche pour ce projet");
                 return;
@@ -291,8 +455,9 @@ public class ProjectManagementApp {
             System.out.print("Priorité (LOW/MEDIUM/HIGH): ");
             TaskPriority priority = TaskPriority.valueOf(scanner.nextLine().toUpperCase());
 
-            Task task = taskService.createTask(name, description, dueDate, TaskStatus.TODO, priority);
-            taskService.addTaskToProject(task, projectName);
+            // Une seule insertion, directement rattachée au projet
+            Task task = new Task(name, description, dueDate, TaskStatus.TODO, priority);
+            taskService.addTaskToProject(task, project);
             System.out.println("✅ Tâche créée avec succès");
         } catch (DateTimeParseException e) {
             System.err.println("❌ Format de date invalide");
@@ -304,34 +469,28 @@ public class ProjectManagementApp {
     }
 
     private static void listAllTasks() {
-        try {
-            List<Task> tasks = taskService.getAllTasks();
-            if (tasks.isEmpty()) {
-                System.out.println("ℹ️ Aucune tâche trouvée");
-                return;
+        try (Stream<TaskWithProject> tasks = taskService.streamAllTasksWithProject()) {
+            long count = 0;
+            for (Iterator<TaskWithProject> it = tasks.iterator(); it.hasNext();) {
+                TaskWithProject row = it.next();
+                Task t = row.getTask();
+                if (count++ == 0) {
+                    System.out.println("\n📋 Liste des tâches:");
+                }
+                System.out.printf("- %s (Projet: %s, Échéance: %s, Statut: %s)\n",
+                        t.getName(), projectLabel(row), t.getDueDate(), t.getStatus());
             }
 
-            System.out.println("\n📋 Liste des tâches:");
-            tasks.forEach(t -> System.out.printf("- %s (Projet: %s, Échéance: %s, Statut: %s)\n",
-                    t.getName(), getProjectForTask(t), t.getDueDate(), t.getStatus()));
-        } catch (BusinessException e) {
+            if (count == 0) {
+                System.out.println("ℹ️ Aucune tâche trouvée");
+            }
+        } catch (BusinessException | DataAccessException e) {
             System.err.println("❌ Erreur: " + e.getMessage());
         }
     }
 
-    private static String getProjectForTask(Task task) {
-        // Implémentation simplifiée - à adapter selon votre modèle de données
-        try {
-            List<Project> projects = projectService.getAllProjects();
-            for (Project p : projects) {
-                if (p.getTasks().contains(task)) {
-                    return p.getName();
-                }
-            }
-        } catch (SQLException e) {
-            return "Inconnu";
-        }
-        return "Sans projet";
+    private static String projectLabel(TaskWithProject row) {
+        return row.getProjectName() != null ? row.getProjectName() : "Sans projet";
     }
 
     private static void findTaskByName() {
@@ -379,11 +538,13 @@ public class ProjectManagementApp {
             System.out.print("Nouvelle date d'échéance (AAAA-MM-JJ) (laisser vide pour ne pas modifier): ");
             String newDueDate = scanner.nextLine();
 
-            if (!newDesc.isEmpty()) task.setDescription(newDesc);
-            if (!newStatus.isEmpty()) task.setStatus(TaskStatus.valueOf(newStatus));
-            if (!newDueDate.isEmpty()) task.setDueDate(LocalDate.parse(newDueDate));
+            // Copie à la version affichée : une modification concurrente est signalée, pas écrasée
+            Task edited = task.copy();
+            if (!newDesc.isEmpty()) edited.setDescription(newDesc);
+            if (!newStatus.isEmpty()) edited.setStatus(TaskStatus.valueOf(newStatus));
+            if (!newDueDate.isEmpty()) edited.setDueDate(LocalDate.parse(newDueDate));
 
-            boolean success = taskService.updateTask(task);
+            boolean success = taskService.updateTask(edited);
             System.out.println(success ? "✅ Tâche mise à jour" : "❌ Échec de la mise à jour");
         } catch (BusinessException | DateTimeParseException | IllegalArgumentException e) {
             System.err.println("❌ Erreur: " + e.getMessage());
@@ -415,19 +576,23 @@ public class ProjectManagementApp {
         System.out.print("Statut à filtrer (TODO/IN_PROGRESS/DONE): ");
         String status = scanner.nextLine().toUpperCase();
 
-        try {
-            List<Task> tasks = taskService.getTasksByStatus(TaskStatus.valueOf(status));
-            if (tasks.isEmpty()) {
-                System.out.println("ℹ️ Aucune tâche avec ce statut");
-                return;
+        try (Stream<TaskWithProject> tasks = taskService.streamTasksByStatusWithProject(TaskStatus.valueOf(status))) {
+            long count = 0;
+            for (Iterator<TaskWithProject> it = tasks.iterator(); it.hasNext();) {
+                TaskWithProject row = it.next();
+                if (count++ == 0) {
+                    System.out.println("\n📋 Tâches avec statut " + status + ":");
+                }
+                System.out.printf("- %s (Projet: %s, Échéance: %s)\n",
+                        row.getTask().getName(), projectLabel(row), row.getTask().getDueDate());
             }
 
-            System.out.println("\n📋 Tâches avec statut " + status + ":");
-            tasks.forEach(t -> System.out.printf("- %s (Projet: %s, Échéance: %s)\n",
-                    t.getName(), getProjectForTask(t), t.getDueDate()));
+            if (count == 0) {
+                System.out.println("ℹ️ Aucune tâche avec ce statut");
+            }
         } catch (IllegalArgumentException e) {
             System.err.println("❌ Statut invalide");
-        } catch (BusinessException e) {
+        } catch (BusinessException | DataAccessException e) {
             System.err.println("❌ Erreur: " + e.getMessage());
         }
     }
@@ -456,7 +621,7 @@ public class ProjectManagementApp {
         remindersActive = !remindersActive;
         if (remindersActive) {
             reminderService.start();
-            System.out.println("🔔 Rappels activés - Vérification toutes les minutes");
+            System.out.println("🔔 Rappels activés - Alerte dès qu'une échéance est dépassée");
         } else {
             reminderService.stop();
             System.out.println("🔕 Rappels désactivés");
@@ -464,10 +629,7 @@ public class ProjectManagementApp {
     }
 
     private static void showOverdueTasks() {
-        List<Task> overdueTasks = taskService.getAllTasks().stream()
-                .filter(t -> t.getDueDate().isBefore(LocalDate.now()))
-                .filter(t -> t.getStatus() != TaskStatus.DONE)
-                .toList();
+        List<TaskWithProject> overdueTasks = overdueTracker.getOverdueTasks(LocalDate.now());
 
         if (overdueTasks.isEmpty()) {
             System.out.println("✅ Aucune tâche en retard");
@@ -475,8 +637,8 @@ public class ProjectManagementApp {
         }
 
         System.out.println("\n⚠️ Tâches en retard:");
-        overdueTasks.forEach(t -> System.out.printf("- %s (Projet: %s, Échéance: %s)\n",
-                t.getName(), getProjectForTask(t), t.getDueDate()));
+        overdueTasks.forEach(row -> System.out.printf("- %s (Projet: %s, Échéance: %s)\n",
+                row.getTask().getName(), projectLabel(row), row.getTask().getDueDate()));
     }
 
     // ==================== GENERATION RAPPORTS ====================
@@ -489,39 +651,62 @@ public class ProjectManagementApp {
             System.out.println("3. ✅ Tâches complétées");
             System.out.println("4. ⏳ Tâches en cours");
             System.out.println("5. 💾 Exporter les données");
+            System.out.println("6. 📥 Importer des données");
+            System.out.println("7. ⏱️ Métriques de performance");
             System.out.println("0. ↩️ Retour");
 
             int choice = safeReadInt("Choix: ");
             switch (choice) {
-                case 1 -> generateGlobalReport();
+                case 1 -> report("Progression globale", ProjectManagementApp::generateGlobalReport);
                 case 2 -> generateProjectReport();
-                case 3 -> generateCompletedTasksReport();
-                case 4 -> generateInProgressTasksReport();
+                case 3 -> report("Tâches complétées", ProjectManagementApp::generateCompletedTasksReport);
+                case 4 -> report("Tâches en cours", ProjectManagementApp::generateInProgressTasksReport);
                 case 5 -> exportData();
+                case 6 -> importData();
+                case 7 -> System.out.print(metrics.dump());
                 case 0 -> back = true;
                 default -> System.out.println("❌ Option invalide!");
             }
         }
     }
 
-    private static void generateGlobalReport() throws SQLException {
-        List<Project> projects = projectService.getAllProjects();
-        long totalProjects = projects.size();
-        long completedProjects = projects.stream()
-                .filter(p -> p.getStatus() == ProjectStatus.DONE)
-                .count();
-        
-        List<Task> tasks = taskService.getAllTasks();
-        long totalTasks = tasks.size();
-        long completedTasks = tasks.stream()
-                .filter(t -> t.getStatus() == TaskStatus.DONE)
-                .count();
+    @FunctionalInterface
+    private interface Report {
+        /**
+         * @return le nombre de lignes (projets ou tâches) couvertes par le rapport
+         */
+        long generate() throws SQLException;
+    }
+
+    /**
+     * Génère un rapport et émet un {@link ReportEvent} JFR avec sa durée et son nombre de lignes.
+     */
+    private static void report(String name, Report report) throws SQLException {
+        ReportEvent event = new ReportEvent();
+        event.begin();
+        long rows = 0;
+        try {
+            rows = report.generate();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = name;
+                event.rows = rows;
+                event.commit();
+            }
+        }
+    }
+
+    private static long generateGlobalReport() throws SQLException {
+        ProjectStatistics projects = projectService.getStatistics();
+        Map<TaskStatus, Long> tasks = taskService.countTasksByStatus();
+        long totalTasks = tasks.values().stream().mapToLong(Long::longValue).sum();
 
         System.out.println("\n📊 RAPPORT GLOBAL");
-        System.out.println("Projets: " + completedProjects + "/" + totalProjects + " complétés");
-        System.out.println("Tâches: " + completedTasks + "/" + totalTasks + " complétées");
-        System.out.printf("Progression moyenne: %.1f%%\n",
-                projects.stream().mapToDouble(Project::getProgression).average().orElse(0));
+        System.out.println("Projets: " + projects.getCount(ProjectStatus.DONE) + "/" + projects.getTotal() + " complétés");
+        System.out.println("Tâches: " + tasks.get(TaskStatus.DONE) + "/" + totalTasks + " complétées");
+        System.out.printf("Progression moyenne: %.1f%%\n", projects.getAverageProgression());
+        return projects.getTotal() + totalTasks;
     }
 
     private static void generateProjectReport() throws SQLException {
@@ -531,10 +716,14 @@ public class ProjectManagementApp {
 
         if (name.isEmpty()) return;
 
+        report("Détails par projet", () -> generateProjectReport(name));
+    }
+
+    private static long generateProjectReport(String name) {
         Project project = projectService.findByName(name);
         if (project == null) {
             System.out.println("❌ Projet non trouvé");
-            return;
+            return 0;
         }
 
         System.out.println("\n📋 RAPPORT PROJET: " + name);
@@ -543,72 +732,171 @@ public class ProjectManagementApp {
         System.out.println("Date début: " + project.getFrom());
         System.out.println("Date fin: " + (project.getTo() != null ? project.getTo() : "Non définie"));
 
-        try {
-            List<Task> tasks = taskService.getAllTasks();
-            System.out.println("\nTâches associées (" + tasks.size() + "):");
-            
-            long doneCount = tasks.stream().filter(t -> t.getStatus() == TaskStatus.DONE).count();
-            System.out.printf("✅ Complétées: %d (%.1f%%)\n", doneCount, 
-                    tasks.isEmpty() ? 0 : (double) doneCount / tasks.size() * 100);
-            
-            System.out.println("\nDétail par statut:");
-            for (TaskStatus status : TaskStatus.values()) {
-                long count = tasks.stream().filter(t -> t.getStatus() == status).count();
-                System.out.printf("- %s: %d\n", status, count);
-            }
-        } catch (BusinessException e) {
-            System.err.println("❌ Erreur: " + e.getMessage());
+        ProjectRollup rollup = projectService.getProjectRollup(name);
+        System.out.println("\nTâches associées (" + rollup.getTotal() + "):");
+
+        int doneCount = rollup.getCount(TaskStatus.DONE);
+        System.out.printf("✅ Complétées: %d (%.1f%%)\n", doneCount,
+                rollup.getTotal() == 0 ? 0 : (double) doneCount / rollup.getTotal() * 100);
+
+        System.out.println("\nDétail par statut:");
+        for (TaskStatus status : TaskStatus.values()) {
+            System.out.printf("- %s: %d\n", status, rollup.getCount(status));
         }
+
+        System.out.println("\nDétail par priorité:");
+        for (TaskPriority priority : TaskPriority.values()) {
+            System.out.printf("- %s: %d\n", priority, rollup.getCount(priority));
+        }
+        return rollup.getTotal();
     }
 
-    private static void generateCompletedTasksReport() {
-        try {
-            List<Task> tasks = taskService.getTasksByStatus(TaskStatus.DONE);
-            if (tasks.isEmpty()) {
-                System.out.println("ℹ️ Aucune tâche complétée");
-                return;
+    private static long generateCompletedTasksReport() {
+        try (Stream<TaskWithProject> tasks = taskService.streamTasksByStatusWithProject(TaskStatus.DONE)) {
+            long count = 0;
+            for (Iterator<TaskWithProject> it = tasks.iterator(); it.hasNext();) {
+                TaskWithProject row = it.next();
+                if (count++ == 0) {
+                    System.out.println("\n✅ TÂCHES COMPLÉTÉES");
+                }
+                System.out.printf("- %s (Projet: %s, Complétée le: %s)\n",
+                        row.getTask().getName(), projectLabel(row), LocalDate.now()); // Date fictive
             }
 
-            System.out.println("\n✅ TÂCHES COMPLÉTÉES (" + tasks.size() + ")");
-            tasks.forEach(t -> System.out.printf("- %s (Projet: %s, Complétée le: %s)\n",
-                    t.getName(), getProjectForTask(t), LocalDate.now())); // Date fictive
-        } catch (BusinessException e) {
+            if (count == 0) {
+                System.out.println("ℹ️ Aucune tâche complétée");
+            } else {
+                System.out.println("Total: " + count);
+            }
+            return count;
+        } catch (BusinessException | DataAccessException e) {
             System.err.println("❌ Erreur: " + e.getMessage());
+            return 0;
         }
     }
 
-    private static void generateInProgressTasksReport() {
-        try {
-            List<Task> tasks = taskService.getTasksByStatus(TaskStatus.IN_PROGRESS);
-            if (tasks.isEmpty()) {
-                System.out.println("ℹ️ Aucune tâche en cours");
-                return;
-            }
-
-            System.out.println("\n⏳ TÂCHES EN COURS (" + tasks.size() + ")");
-            tasks.forEach(t -> {
-                String dueInfo = t.getDueDate().isBefore(LocalDate.now()) 
+    private static long generateInProgressTasksReport() {
+        try (Stream<TaskWithProject> tasks = taskService.streamTasksByStatusWithProject(TaskStatus.IN_PROGRESS)) {
+            long count = 0;
+            for (Iterator<TaskWithProject> it = tasks.iterator(); it.hasNext();) {
+                TaskWithProject row = it.next();
+                Task t = row.getTask();
+                if (count++ == 0) {
+                    System.out.println("\n⏳ TÂCHES EN COURS");
+                }
+                String dueInfo = t.getDueDate().isBefore(LocalDate.now())
                         ? "⚠️ EN RETARD (depuis " + LocalDate.now().until(t.getDueDate()).getDays() + " jours)"
                         : "Échéance: " + t.getDueDate();
                 System.out.printf("- %s (Projet: %s, %s)\n",
-                        t.getName(), getProjectForTask(t), dueInfo);
-            });
-        } catch (BusinessException e) {
+                        t.getName(), projectLabel(row), dueInfo);
+            }
+
+            if (count == 0) {
+                System.out.println("ℹ️ Aucune tâche en cours");
+            } else {
+                System.out.println("Total: " + count);
+            }
+            return count;
+        } catch (BusinessException | DataAccessException e) {
             System.err.println("❌ Erreur: " + e.getMessage());
+            return 0;
         }
     }
 
     private static void exportData() {
+        System.out.println("Format: 1. Binaire (projets + tâches)  2. CSV  3. JSON Lines");
+        int choice = safeReadInt("Choix: ");
+        switch (choice) {
+            case 1 -> exportBinary();
+            case 2 -> exportTables(ExportFormat.CSV);
+            case 3 -> exportTables(ExportFormat.JSONL);
+            default -> System.out.println("❌ Option invalide!");
+        }
+    }
+
+    private static void exportTables(ExportFormat format) {
+        if (exportService == null) {
+            System.out.println("ℹ️ Export CSV/JSON Lines indisponible en mode mémoire");
+            return;
+        }
+        System.out.print("Compresser en gzip (o/n)? ");
+        boolean gzip = scanner.nextLine().equalsIgnoreCase("o");
+
+        for (String table : ExportService.TABLES) {
+            String extension = "." + format.name().toLowerCase() + (gzip ? ".gz" : "");
+            Path output = Path.of(System.getProperty("export.dir", "reports"), table + extension);
+            try {
+                long rows = exportService.exportTable(table, format, output, gzip,
+                        (t, n) -> System.out.print("\r⏳ " + t + ": " + n + " lignes"));
+                System.out.println("\n✅ " + rows + " lignes exportées: " + output.toAbsolutePath());
+            } catch (SQLException | IOException e) {
+                System.err.println("\n❌ Erreur lors de l'export de " + table + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private static void exportBinary() {
         try {
-            List<Project> projects = projectService.getAllProjects();
-            FileManagement fileManager = new FileManagement(projects);
+            // Copies : en mode mémoire, getAllProjects renvoie les instances du dépôt
+            List<Project> projects = new ArrayList<>();
+            Map<String, Project> byName = new HashMap<>();
+            for (Project project : projectService.getAllProjects()) {
+                Project copy = project.copy();
+                projects.add(copy);
+                byName.put(copy.getName(), copy);
+            }
+            // Tâches lues dans l'instantané du magasin : copies détachées, sans relire la table
+            List<Task> unassigned = new ArrayList<>();
+            taskStore.snapshot().stream().forEach(state -> {
+                Project project = state.getProjectName() != null ? byName.get(state.getProjectName()) : null;
+                if (project != null) {
+                    project.addTask(state.toTask());
+                } else {
+                    unassigned.add(state.toTask());
+                }
+            });
+
+            FileManagement fileManager = new FileManagement(projects, unassigned);
             fileManager.writeToFile();
-            System.out.println("✅ Données exportées avec succès");
-        } catch (SQLException e) {
+            System.out.println("✅ Données exportées avec succès: " + fileManager.getPath().toAbsolutePath());
+        } catch (SQLException | IOException | BusinessException | DataAccessException e) {
             System.err.println("❌ Erreur lors de l'export: " + e.getMessage());
         }
     }
 
+    private static void importData() {
+        System.out.println("Format: 1. Binaire (projets + tâches)  2. CSV  3. JSON Lines");
+        int choice = safeReadInt("Choix: ");
+        if (choice < 1 || choice > 3) {
+            System.out.println("❌ Option invalide!");
+            return;
+        }
+        System.out.print("Chemin du fichier: ");
+        Path input = Path.of(scanner.nextLine().trim());
+        ImportService.ProgressListener progress = (t, n) -> System.out.print("\r⏳ " + t + ": " + n + " lignes");
+
+        try {
+            List<ImportReport> reports;
+            if (choice == 1) {
+                reports = importService.importBinary(input, progress);
+            } else {
+                System.out.print("Table (projets/taches): ");
+                String table = scanner.nextLine().trim();
+                ExportFormat format = choice == 2 ? ExportFormat.CSV : ExportFormat.JSONL;
+                reports = List.of(importService.importTable(table, format, input, progress));
+            }
+            System.out.println();
+            for (ImportReport report : reports) {
+                System.out.println("✅ " + report);
+                report.getErrors().forEach(e -> System.out.println("   ⚠️ " + e));
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("❌ " + e.getMessage());
+        } catch (SQLException | IOException | DataAccessException e) {
+            System.err.println("\n❌ Erreur lors de l'import: " + e.getMessage());
+        }
+    }
+
     // ==================== UTILITAIRES ====================
     private static int safeReadInt(String prompt) {
         while (true) {
@@ -0,0 +1,283 @@
+package com.project.entity;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool borné de connexions JDBC.
+ *
+ * Une connexion empruntée doit toujours être rendue via {@link #release(PooledConnection)}.
+ * Les connexions inactives sont validées avant d'être prêtées et fermées
+ * lorsqu'elles dépassent la durée d'inactivité maximale. Chaque connexion garde
+ * son propre cache de PreparedStatement tant qu'elle vit dans le pool.
+ */
+public class ConnectionPool {
+
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection open() throws SQLException;
+    }
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final ConnectionFactory factory;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final int statementCacheSize;
+
+    // Un permis par connexion pouvant être prêtée : borne la taille totale du pool
+    private final Semaphore permits;
+    private final Deque<IdleConnection> idle = new ArrayDeque<>();
+    private final ScheduledExecutorService evictor;
+
+    private int active;
+    private boolean closed;
+
+    // Métriques
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong destroyed = new AtomicLong();
+    private final AtomicLong borrowed = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+    private final AtomicLong statementHits = new AtomicLong();
+    private final AtomicLong statementMisses = new AtomicLong();
+
+    public ConnectionPool(ConnectionFactory factory, int maxSize, long borrowTimeoutMillis, long idleTimeoutMillis,
+            int statementCacheSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("La taille du pool doit être positive");
+        }
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "connection-pool-evictor");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1_000, idleTimeoutMillis / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Emprunte une connexion, en attendant au plus le délai configuré si le pool est saturé.
+     *
+     * @throws SQLException si le pool est fermé, y compris pendant l'attente
+     */
+    public PooledConnection borrow() throws SQLException {
+        checkOpen();
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeouts.incrementAndGet();
+                throw new SQLTimeoutException("Aucune connexion disponible après " + borrowTimeoutMillis + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Attente d'une connexion interrompue", e);
+        } finally {
+            waitNanos.addAndGet(System.nanoTime() - start);
+        }
+
+        try {
+            checkOpen();
+            PooledConnection connection = takeValidIdle();
+            if (connection == null) {
+                connection = new PooledConnection(factory.open(), statementCacheSize, statementHits, statementMisses);
+                created.incrementAndGet();
+            }
+            boolean open;
+            synchronized (this) {
+                // Fermé pendant l'ouverture : la connexion ne doit pas survivre au pool
+                open = !closed;
+                if (open) {
+                    active++;
+                }
+            }
+            if (!open) {
+                destroy(connection);
+                checkOpen();
+            }
+            borrowed.incrementAndGet();
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private synchronized void checkOpen() throws SQLException {
+        if (closed) {
+            throw new SQLException("Le pool de connexions est fermé");
+        }
+    }
+
+    /**
+     * Rend une connexion au pool. Une connexion fermée ou en transaction ouverte est détruite.
+     */
+    public void release(PooledConnection connection) {
+        if (connection == null) {
+            return;
+        }
+        boolean reusable;
+        try {
+            reusable = !connection.getConnection().isClosed() && connection.getConnection().getAutoCommit();
+        } catch (SQLException e) {
+            reusable = false;
+        }
+
+        synchronized (this) {
+            active--;
+            if (reusable && !closed) {
+                idle.push(new IdleConnection(connection, System.currentTimeMillis()));
+                connection = null;
+            }
+        }
+        if (connection != null) {
+            destroy(connection);
+        }
+        permits.release();
+    }
+
+    private PooledConnection takeValidIdle() {
+        while (true) {
+            IdleConnection candidate;
+            synchronized (this) {
+                candidate = idle.poll();
+            }
+            if (candidate == null) {
+                return null;
+            }
+            if (isValid(candidate.connection)) {
+                return candidate.connection;
+            }
+            destroy(candidate.connection);
+        }
+    }
+
+    private boolean isValid(PooledConnection connection) {
+        try {
+            return connection.getConnection().isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void evictIdle() {
+        long limit = System.currentTimeMillis() - idleTimeoutMillis;
+        Deque<PooledConnection> expired = new ArrayDeque<>();
+        synchronized (this) {
+            Iterator<IdleConnection> it = idle.descendingIterator();
+            while (it.hasNext()) {
+                IdleConnection candidate = it.next();
+                if (candidate.since > limit) {
+                    break; // les plus anciennes sont en queue de pile
+                }
+                it.remove();
+                expired.add(candidate.connection);
+            }
+        }
+        expired.forEach(this::destroy);
+    }
+
+    private void destroy(PooledConnection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            System.err.println("❌ Erreur lors de la fermeture d'une connexion : " + e.getMessage());
+        }
+        destroyed.incrementAndGet();
+    }
+
+    public void close() {
+        evictor.shutdownNow();
+        Deque<IdleConnection> toClose;
+        synchronized (this) {
+            closed = true;
+            toClose = new ArrayDeque<>(idle);
+            idle.clear();
+        }
+        toClose.forEach(c -> destroy(c.connection));
+    }
+
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    // ==================== MÉTRIQUES ====================
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public synchronized int getActiveCount() {
+        return active;
+    }
+
+    public synchronized int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getWaitingCount() {
+        return permits.getQueueLength();
+    }
+
+    public long getCreatedCount() {
+        return created.get();
+    }
+
+    public long getDestroyedCount() {
+        return destroyed.get();
+    }
+
+    public long getBorrowCount() {
+        return borrowed.get();
+    }
+
+    public long getTimeoutCount() {
+        return timeouts.get();
+    }
+
+    public long getTotalWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(waitNanos.get());
+    }
+
+    public long getStatementCacheHits() {
+        return statementHits.get();
+    }
+
+    public long getStatementCacheMisses() {
+        return statementMisses.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ConnectionPool{actives=%d, inactives=%d, max=%d, en attente=%d, créées=%d, détruites=%d, timeouts=%d, statements=%d/%d}",
+                getActiveCount(), getIdleCount(), maxSize, getWaitingCount(),
+                getCreatedCount(), getDestroyedCount(), getTimeoutCount(),
+                getStatementCacheHits(), getStatementCacheHits() + getStatementCacheMisses());
+    }
+
+    private static final class IdleConnection {
+        private final PooledConnection connection;
+        private final long since;
+
+        private IdleConnection(PooledConnection connection, long since) {
+            this.connection = connection;
+            this.since = since;
+        }
+    }
+}
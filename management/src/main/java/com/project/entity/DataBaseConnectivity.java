@@ -1,29 +1,87 @@
 package com.project.entity;
 
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.project.exceptions.DataAccessException;
+import com.project.interfaces.RowMapper;
 
 public class DataBaseConnectivity {
     private static final String URL = "jdbc:mysql://localhost:3306/gestion_projets";
     private static final String USER = "root";
     private static final String PASSWORD = "root";
 
-    private Connection connection;
+    private static final int DEFAULT_POOL_SIZE = 10;
+    private static final long DEFAULT_BORROW_TIMEOUT_MS = 5_000;
+    private static final long DEFAULT_IDLE_TIMEOUT_MS = 300_000;
+    private static final int DEFAULT_STATEMENT_CACHE_SIZE = 64;
+    private static final long DEFAULT_SLOW_QUERY_MS = 200;
+    private static final int DEFAULT_SLOW_LOG_SIZE = 100;
+
+    public static final int DUPLICATE_ENTRY = 1062; // Code d'erreur MySQL pour duplicate entry
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int poolSize;
+    private final QueryTracer tracer;
+
+    private ConnectionPool pool;
+
+    public DataBaseConnectivity() {
+        this(URL, USER, PASSWORD, Integer.getInteger("db.pool.size", DEFAULT_POOL_SIZE));
+    }
+
+    public DataBaseConnectivity(String url, String user, String password, int poolSize) {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.poolSize = poolSize;
+        this.tracer = new QueryTracer(Long.getLong("db.trace.slowMs", DEFAULT_SLOW_QUERY_MS),
+                Integer.getInteger("db.trace.slowLog.size", DEFAULT_SLOW_LOG_SIZE));
+    }
 
     // Connexion à la base
 
     public void connect() throws SQLException {
+        Properties props = new Properties();
+        props.put("user", user);
+        props.put("password", password);
+        props.put("useSSL", "false");
+        props.put("serverTimezone", "UTC");
+        // Préparation côté serveur : le cache de statements évite l'aller-retour à chaque appel
+        props.put("useServerPrepStmts", "true");
+        // Réécrit les lots d'INSERT en INSERT multi-lignes
+        props.put("rewriteBatchedStatements", "true");
+        // Curseur serveur : un fetchSize positif lit les lignes par paquets au lieu de tout charger
+        props.put("useCursorFetch", "true");
+
+        this.pool = new ConnectionPool(() -> DriverManager.getConnection(url, props),
+                poolSize,
+                Long.getLong("db.pool.borrowTimeoutMs", DEFAULT_BORROW_TIMEOUT_MS),
+                Long.getLong("db.pool.idleTimeoutMs", DEFAULT_IDLE_TIMEOUT_MS),
+                Integer.getInteger("db.statementCache.size", DEFAULT_STATEMENT_CACHE_SIZE));
         try {
-            Properties props = new Properties();
-            props.put("user", USER);
-            props.put("password", PASSWORD);
-            props.put("useSSL", "false");
-            props.put("serverTimezone", "UTC");
-            this.connection = DriverManager.getConnection(URL, props);
+            // Ouvre une première connexion pour vérifier les paramètres
+            pool.release(pool.borrow());
             System.out.println("✅ Connexion réussie à MySQL !");
         } catch (SQLException e) {
             System.err.println("❌ Erreur de connexion : " + e.getMessage());
@@ -31,43 +89,351 @@ public class DataBaseConnectivity {
     }
 
     public void disconnect() throws SQLException {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-                System.out.println("🔌 Déconnexion de MySQL.");
-            }
-        } catch (SQLException e) {
-            System.err.println("❌ Erreur lors de la fermeture : " + e.getMessage());
+        if (pool != null && !pool.isClosed()) {
+            pool.close();
+            System.out.println("🔌 Déconnexion de MySQL.");
         }
     }
 
-    public PreparedStatement preparedStatement(String sql) throws SQLException {
-        return connection.prepareStatement(sql);
+    public ConnectionPool getPool() {
+        return pool;
+    }
+
+    /**
+     * @return la trace des ordres SQL exécutés : cumuls par modèle et requêtes lentes
+     */
+    public QueryTracer getTracer() {
+        return tracer;
     }
 
     public int executeUpdate(String sql, Object... params) throws SQLException {
-        try (PreparedStatement stmt = preparedStatement(sql)) {
-            for (int i = 0; i < params.length; i++) {
-                stmt.setObject(i + 1, params[i]);
+        PooledConnection connection = pool.borrow();
+        try {
+            PreparedStatement stmt = connection.prepare(sql);
+            try {
+                bind(stmt, params);
+                long start = System.nanoTime();
+                int affected = -1;
+                try {
+                    affected = stmt.executeUpdate();
+                    return affected;
+                } finally {
+                    tracer.record(sql, params.length, System.nanoTime() - start, 0, Math.max(affected, 0), affected < 0);
+                }
+            } finally {
+                connection.recycle(stmt);
+            }
+        } finally {
+            pool.release(connection);
+        }
+    }
+
+    /**
+     * Exécute un INSERT dans une table à clé auto-incrémentée.
+     *
+     * @return la clé générée pour la ligne insérée, 0 si le pilote n'en a retourné aucune
+     */
+    public int executeInsert(String sql, Object... params) throws SQLException {
+        PooledConnection connection = pool.borrow();
+        try {
+            PreparedStatement stmt = connection.prepareReturningKeys(sql);
+            try {
+                bind(stmt, params);
+                long start = System.nanoTime();
+                int affected = -1;
+                try {
+                    affected = stmt.executeUpdate();
+                    return generatedKey(stmt);
+                } finally {
+                    tracer.record(sql, params.length, System.nanoTime() - start, 0, Math.max(affected, 0), affected < 0);
+                }
+            } finally {
+                connection.recycle(stmt);
             }
-            return stmt.executeUpdate();
+        } finally {
+            pool.release(connection);
         }
     }
 
-    
+    private static int generatedKey(PreparedStatement stmt) throws SQLException {
+        try (ResultSet keys = stmt.getGeneratedKeys()) {
+            return keys.next() ? keys.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Exécute une requête. La connexion empruntée reste réservée jusqu'à la fermeture
+     * du ResultSet retourné ; sa fermeture rend le statement au cache et la connexion au pool.
+     */
     public ResultSet executeQuery(String sql, Object... params) throws SQLException {
-        PreparedStatement stmt = preparedStatement(sql);
-        for (int i = 0; i < params.length; i++) {
-            stmt.setObject(i + 1, params[i]);
+        return executeStreamingQuery(sql, 0, params);
+    }
+
+    /**
+     * Comme {@link #executeQuery(String, Object...)}, mais lit le résultat avec un curseur
+     * en avant seulement, par paquets de {@code fetchSize} lignes.
+     */
+    public ResultSet executeStreamingQuery(String sql, int fetchSize, Object... params) throws SQLException {
+        PooledConnection connection = pool.borrow();
+        PreparedStatement stmt = null;
+        try {
+            stmt = connection.prepare(sql);
+            stmt.setFetchSize(fetchSize);
+            bind(stmt, params);
+            long start = System.nanoTime();
+            ResultSet rs;
+            try {
+                rs = stmt.executeQuery();
+            } catch (SQLException | RuntimeException e) {
+                tracer.record(sql, params.length, System.nanoTime() - start, 0, 0, true);
+                throw e;
+            }
+            return releasingOnClose(rs, stmt, connection, sql, params.length, System.nanoTime() - start);
+        } catch (SQLException | RuntimeException e) {
+            if (stmt != null) {
+                connection.recycle(stmt);
+            }
+            pool.release(connection);
+            throw e;
+        }
+    }
+
+    /**
+     * Exécute une requête et charge toutes ses lignes en mémoire.
+     */
+    public <T> List<T> queryList(String sql, RowMapper<T> mapper, Object... params) throws SQLException {
+        List<T> rows = new ArrayList<>();
+        try (ResultSet rs = executeQuery(sql, params)) {
+            while (rs.next()) {
+                rows.add(mapper.map(rs));
+            }
         }
-        return stmt.executeQuery();
+        return rows;
+    }
+
+    /**
+     * Exécute une requête et expose ses lignes sous forme de Stream parcouru à la demande.
+     * Le Stream doit être fermé (try-with-resources) pour libérer le curseur et la connexion.
+     */
+    public <T> Stream<T> stream(String sql, int fetchSize, RowMapper<T> mapper, Object... params)
+            throws SQLException {
+        ResultSet rs = executeStreamingQuery(sql, fetchSize, params);
+        Spliterator<T> rows = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (!rs.next()) {
+                        return false;
+                    }
+                    action.accept(mapper.map(rs));
+                    return true;
+                } catch (SQLException e) {
+                    throw new DataAccessException("Erreur lors de la lecture de : " + sql, e);
+                }
+            }
+        };
+        return StreamSupport.stream(rows, false).onClose(() -> {
+            try {
+                rs.close();
+            } catch (SQLException e) {
+                throw new DataAccessException("Erreur lors de la fermeture du curseur", e);
+            }
+        });
+    }
+
+    /**
+     * Exécute un même ordre pour chaque ligne de paramètres, par lots de {@code chunkSize}
+     * lignes. Chaque lot est validé dans sa propre transaction.
+     *
+     * Si un lot échoue sur une clé dupliquée, il est annulé puis rejoué ligne par ligne :
+     * les lignes en doublon sont marquées {@link Statement#EXECUTE_FAILED} dans le tableau
+     * retourné et les autres sont insérées normalement.
+     *
+     * @return le nombre de lignes affectées pour chaque ligne de paramètres
+     */
+    public int[] executeBatch(String sql, List<Object[]> rows, int chunkSize) throws SQLException {
+        return executeBatch(sql, rows, chunkSize, null);
+    }
+
+    /**
+     * Comme {@link #executeBatch(String, List, int)}, pour un INSERT dans une table à clé
+     * auto-incrémentée : la clé générée pour chaque ligne est écrite à son indice dans
+     * {@code generatedKeys}, 0 pour les lignes en doublon.
+     *
+     * @param generatedKeys tableau de {@code rows.size()} éléments, ou null pour ne pas lire les clés
+     */
+    public int[] executeBatch(String sql, List<Object[]> rows, int chunkSize, int[] generatedKeys)
+            throws SQLException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("La taille des lots doit être positive");
+        }
+        int[] counts = new int[rows.size()];
+        long start = System.nanoTime();
+        boolean failed = true;
+        PooledConnection pooled = pool.borrow();
+        Connection connection = pooled.getConnection();
+        PreparedStatement stmt = null;
+        try {
+            connection.setAutoCommit(false);
+            stmt = generatedKeys != null ? pooled.prepareReturningKeys(sql) : pooled.prepare(sql);
+            for (int from = 0; from < rows.size(); from += chunkSize) {
+                int to = Math.min(from + chunkSize, rows.size());
+                try {
+                    for (int i = from; i < to; i++) {
+                        bind(stmt, rows.get(i));
+                        stmt.addBatch();
+                    }
+                    int[] chunk = stmt.executeBatch();
+                    if (generatedKeys != null) {
+                        readGeneratedKeys(stmt, generatedKeys, from, to);
+                    }
+                    connection.commit();
+                    if (chunk.length == to - from) {
+                        System.arraycopy(chunk, 0, counts, from, chunk.length);
+                    } else {
+                        Arrays.fill(counts, from, to, Statement.SUCCESS_NO_INFO);
+                    }
+                } catch (BatchUpdateException e) {
+                    connection.rollback();
+                    stmt.clearBatch();
+                    if (e.getErrorCode() != DUPLICATE_ENTRY) {
+                        throw e;
+                    }
+                    executeRowByRow(stmt, rows, from, to, counts, generatedKeys);
+                    connection.commit();
+                }
+            }
+            failed = false;
+            return counts;
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            traceBatch(sql, rows, counts, System.nanoTime() - start, failed);
+            try {
+                connection.setAutoCommit(true);
+            } finally {
+                if (stmt != null) {
+                    pooled.recycle(stmt);
+                }
+                pool.release(pooled);
+            }
+        }
+    }
+
+    /**
+     * Lit les clés générées par un lot entièrement inséré, dans l'ordre des lignes.
+     */
+    private static void readGeneratedKeys(PreparedStatement stmt, int[] generatedKeys, int from, int to)
+            throws SQLException {
+        try (ResultSet keys = stmt.getGeneratedKeys()) {
+            for (int i = from; i < to && keys.next(); i++) {
+                generatedKeys[i] = keys.getInt(1);
+            }
+        }
+    }
+
+    private static void executeRowByRow(PreparedStatement stmt, List<Object[]> rows, int from, int to, int[] counts,
+            int[] generatedKeys) throws SQLException {
+        for (int i = from; i < to; i++) {
+            bind(stmt, rows.get(i));
+            try {
+                counts[i] = stmt.executeUpdate();
+                if (generatedKeys != null) {
+                    generatedKeys[i] = generatedKey(stmt);
+                }
+            } catch (SQLException e) {
+                if (e.getErrorCode() != DUPLICATE_ENTRY) {
+                    throw e;
+                }
+                counts[i] = Statement.EXECUTE_FAILED;
+                if (generatedKeys != null) {
+                    generatedKeys[i] = 0;
+                }
+            }
+        }
+    }
+
+    private void traceBatch(String sql, List<Object[]> rows, int[] counts, long nanos, boolean failed) {
+        int parameters = 0;
+        for (Object[] row : rows) {
+            parameters += row.length;
+        }
+        long affected = 0;
+        for (int count : counts) {
+            if (count > 0) {
+                affected += count;
+            } else if (count == Statement.SUCCESS_NO_INFO) {
+                affected++;
+            }
+        }
+        tracer.record(sql, parameters, nanos, 0, affected, failed);
     }
 
     public boolean isConnected() throws SQLException {
-        if (connection.isClosed()) {
-            return false;
+        return pool != null && !pool.isClosed();
+    }
+
+    private static void bind(PreparedStatement stmt, Object... params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            stmt.setObject(i + 1, params[i]);
         }
-        return true;
+    }
+
+    /**
+     * Enveloppe {@code rs} pour rendre statement et connexion à sa fermeture. Les lignes
+     * lues et le temps passé dans {@code next()} sont comptés puis transmis au tracer
+     * à la fermeture, avec le temps d'exécution déjà mesuré.
+     */
+    private ResultSet releasingOnClose(ResultSet rs, PreparedStatement stmt, PooledConnection connection,
+            String sql, int parameterCount, long executeNanos) {
+        InvocationHandler handler = new InvocationHandler() {
+            private boolean closed;
+            private boolean failed;
+            private long rows;
+            private long fetchNanos;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                String name = method.getName();
+                if (name.equals("next") && method.getParameterCount() == 0) {
+                    long start = System.nanoTime();
+                    try {
+                        boolean hasRow = rs.next();
+                        if (hasRow) {
+                            rows++;
+                        }
+                        return hasRow;
+                    } catch (SQLException e) {
+                        failed = true;
+                        throw e;
+                    } finally {
+                        fetchNanos += System.nanoTime() - start;
+                    }
+                }
+                if (name.equals("close") && method.getParameterCount() == 0) {
+                    if (!closed) {
+                        closed = true;
+                        tracer.record(sql, parameterCount, executeNanos, fetchNanos, rows, failed);
+                        try {
+                            rs.close();
+                            connection.recycle(stmt);
+                        } finally {
+                            pool.release(connection);
+                        }
+                    }
+                    return null;
+                }
+                try {
+                    return method.invoke(rs, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        };
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                new Class<?>[] { ResultSet.class }, handler);
     }
 
 }
@@ -1,27 +1,321 @@
 package com.project.entity;
 
-import java.io.FileOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
-import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import com.project.enums.ProjectStatus;
+import com.project.enums.TaskPriority;
+import com.project.enums.TaskStatus;
+
+/**
+ * Export binaire compact des projets et de leurs tâches.
+ *
+ * Format (version 2, entiers big-endian) :
+ * <pre>
+ * "PMGT"                      magic, 4 octets
+ * u16 version
+ * i32 nbChaînes, puis pour chaque chaîne : i32 longueur + octets UTF-8
+ * i32 nbProjets, puis pour chaque projet :
+ *   i32 longueur de l'enregistrement (octets qui suivent)
+ *   i32 nom, i32 description          index dans la table de chaînes (-1 = null)
+ *   i32 début, i32 fin                jours depuis l'epoch (NO_DATE = absente)
+ *   u8  statut                        ordinal de ProjectStatus
+ *   f64 progression
+ *   i32 nbTâches, puis pour chaque tâche :
+ *     i32 nom, i32 description, i32 échéance, u8 statut, u8 priorité
+ * i32 nbTâchesSansProjet, puis chaque tâche au même format    (absent en version 1)
+ * </pre>
+ * Chaque chaîne n'est écrite qu'une fois, quel que soit son nombre d'occurrences.
+ * Les exports en version 1 restent lisibles.
+ */
 public class FileManagement {
-    private static final String FINAL_PATH = "C:\\Users\\Riad\\Desktop\\Project Management\\management\\reports";
-    private Path path;
-    private List<Project> projects;
+    private static final String DEFAULT_PATH = "reports/projects.pmx";
+    private static final byte[] MAGIC = { 'P', 'M', 'G', 'T' };
+    private static final short VERSION = 2;
+    // Première version contenant la section des tâches sans projet
+    private static final short UNASSIGNED_TASKS_VERSION = 2;
+    private static final int NO_STRING = -1;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int PROJECT_HEADER_SIZE = 4 + 4 + 4 + 4 + 1 + 8 + 4;
+    private static final int TASK_SIZE = 4 + 4 + 4 + 1 + 1;
+    private static final TaskStatus[] TASK_STATUSES = TaskStatus.values();
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+
+    private final Path path;
+    private final List<Project> projects;
+    // À l'écriture, les tâches sans projet ; à la lecture, celles relues par readFromFile
+    private List<Task> unassignedTasks;
 
     public FileManagement(List<Project> projects) {
-        this.path = Path.of(FINAL_PATH);
+        this(projects, Path.of(System.getProperty("export.path", DEFAULT_PATH)));
+    }
+
+    public FileManagement(List<Project> projects, Path path) {
+        this(projects, Collections.emptyList(), path);
+    }
+
+    /**
+     * @param unassignedTasks tâches rattachées à aucun projet, écrites dans leur propre section
+     */
+    public FileManagement(List<Project> projects, List<Task> unassignedTasks, Path path) {
+        this.path = path;
         this.projects = projects;
+        this.unassignedTasks = unassignedTasks;
+    }
+
+    public FileManagement(List<Project> projects, List<Task> unassignedTasks) {
+        this(projects, unassignedTasks, Path.of(System.getProperty("export.path", DEFAULT_PATH)));
+    }
+
+    /**
+     * Prépare la lecture d'un export existant.
+     */
+    public FileManagement(Path path) {
+        this(Collections.emptyList(), path);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * @return les tâches sans projet à écrire, ou celles relues par le dernier {@link #readFromFile()}
+     */
+    public List<Task> getUnassignedTasks() {
+        return unassignedTasks;
+    }
+
+    // ==================== ÉCRITURE ====================
+
+    public void writeToFile() throws IOException {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        for (Project project : projects) {
+            intern(strings, project.getName());
+            intern(strings, project.getDescription());
+            for (Task task : project.getTasks()) {
+                intern(strings, task.getName());
+                intern(strings, task.getDescription());
+            }
+        }
+        for (Task task : unassignedTasks) {
+            intern(strings, task.getName());
+            intern(strings, task.getDescription());
+        }
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            buffer.put(MAGIC).putShort(VERSION);
+
+            buffer.putInt(strings.size());
+            for (String s : strings.keySet()) {
+                byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+                ensureRoom(channel, buffer, 4);
+                buffer.putInt(bytes.length);
+                putBytes(channel, buffer, bytes);
+            }
+
+            ensureRoom(channel, buffer, 4);
+            buffer.putInt(projects.size());
+            for (Project project : projects) {
+                List<Task> tasks = project.getTasks();
+                ensureRoom(channel, buffer, 4 + PROJECT_HEADER_SIZE);
+                buffer.putInt(PROJECT_HEADER_SIZE + tasks.size() * TASK_SIZE);
+                buffer.putInt(indexOf(strings, project.getName()));
+                buffer.putInt(indexOf(strings, project.getDescription()));
+                buffer.putInt(epochDay(project.getFrom()));
+                buffer.putInt(epochDay(project.getTo()));
+                buffer.put((byte) project.getStatus().ordinal());
+                buffer.putDouble(project.getProgression());
+                buffer.putInt(tasks.size());
+                for (Task task : tasks) {
+                    putTask(channel, buffer, strings, task);
+                }
+            }
+
+            ensureRoom(channel, buffer, 4);
+            buffer.putInt(unassignedTasks.size());
+            for (Task task : unassignedTasks) {
+                putTask(channel, buffer, strings, task);
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    private static void putTask(FileChannel channel, ByteBuffer buffer, Map<String, Integer> strings, Task task)
+            throws IOException {
+        ensureRoom(channel, buffer, TASK_SIZE);
+        buffer.putInt(indexOf(strings, task.getName()));
+        buffer.putInt(indexOf(strings, task.getDescription()));
+        buffer.putInt(epochDay(task.getDueDate()));
+        buffer.put((byte) task.getStatus().ordinal());
+        buffer.put((byte) task.getPriority().ordinal());
+    }
+
+    private static void intern(Map<String, Integer> strings, String s) {
+        if (s != null) {
+            strings.putIfAbsent(s, strings.size());
+        }
+    }
+
+    private static int indexOf(Map<String, Integer> strings, String s) {
+        return s == null ? NO_STRING : strings.get(s);
+    }
+
+    private static int epochDay(LocalDate date) {
+        return date == null ? NO_DATE : Math.toIntExact(date.toEpochDay());
+    }
+
+    private static void ensureRoom(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush(channel, buffer);
+        }
+    }
+
+    private static void putBytes(FileChannel channel, ByteBuffer buffer, byte[] bytes) throws IOException {
+        if (bytes.length <= buffer.remaining()) {
+            buffer.put(bytes);
+            return;
+        }
+        flush(channel, buffer);
+        ByteBuffer large = ByteBuffer.wrap(bytes);
+        while (large.hasRemaining()) {
+            channel.write(large);
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // ==================== LECTURE ====================
+
+    /**
+     * Relit un export binaire ; les tâches sont rattachées à leur projet, celles
+     * sans projet sont ensuite disponibles par {@link #getUnassignedTasks()}.
+     */
+    public List<Project> readFromFile() throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            buffer.flip();
+
+            fill(channel, buffer, MAGIC.length + 2);
+            for (byte b : MAGIC) {
+                if (buffer.get() != b) {
+                    throw new IOException("Fichier d'export invalide : " + path);
+                }
+            }
+            short version = buffer.getShort();
+            if (version < 1 || version > VERSION) {
+                throw new IOException("Version d'export non supportée : " + version);
+            }
+
+            fill(channel, buffer, 4);
+            String[] strings = new String[buffer.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                fill(channel, buffer, 4);
+                byte[] bytes = new byte[buffer.getInt()];
+                readBytes(channel, buffer, bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            fill(channel, buffer, 4);
+            int projectCount = buffer.getInt();
+            List<Project> result = new ArrayList<>(projectCount);
+            ProjectStatus[] projectStatuses = ProjectStatus.values();
+            for (int p = 0; p < projectCount; p++) {
+                fill(channel, buffer, 4 + PROJECT_HEADER_SIZE);
+                buffer.getInt(); // longueur de l'enregistrement, utile pour sauter un projet
+                Project project = new Project(string(strings, buffer.getInt()), string(strings, buffer.getInt()));
+                project.setFrom(date(buffer.getInt()));
+                project.setTo(date(buffer.getInt()));
+                project.setStatus(projectStatuses[buffer.get()]);
+                double progression = buffer.getDouble();
+                int taskCount = buffer.getInt();
+                for (int t = 0; t < taskCount; t++) {
+                    project.addTask(readTask(channel, buffer, strings));
+                }
+                project.setProgression(progression);
+                result.add(project);
+            }
+
+            List<Task> unassigned = new ArrayList<>();
+            if (version >= UNASSIGNED_TASKS_VERSION) {
+                fill(channel, buffer, 4);
+                int taskCount = buffer.getInt();
+                for (int t = 0; t < taskCount; t++) {
+                    unassigned.add(readTask(channel, buffer, strings));
+                }
+            }
+            unassignedTasks = unassigned;
+            return result;
+        }
+    }
+
+    private static Task readTask(FileChannel channel, ByteBuffer buffer, String[] strings) throws IOException {
+        fill(channel, buffer, TASK_SIZE);
+        return new Task(
+                string(strings, buffer.getInt()),
+                string(strings, buffer.getInt()),
+                date(buffer.getInt()),
+                TASK_STATUSES[buffer.get()],
+                PRIORITIES[buffer.get()]);
+    }
+
+    private static String string(String[] strings, int index) {
+        return index == NO_STRING ? null : strings[index];
+    }
+
+    private static LocalDate date(int epochDay) {
+        return epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    /**
+     * Garantit qu'au moins {@code bytes} octets sont lisibles dans le buffer.
+     */
+    private static void fill(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        buffer.compact();
+        while (buffer.position() < bytes) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Fin de fichier inattendue");
+            }
+        }
+        buffer.flip();
     }
 
-    public void writeToFile(){
-        try {
-            ObjectOutputStream out  = new ObjectOutputStream(new FileOutputStream(FINAL_PATH));
-            out.writeObject(projects);
-        } catch (IOException e) {
-            e.printStackTrace();
+    private static void readBytes(FileChannel channel, ByteBuffer buffer, byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                fill(channel, buffer, 1);
+            }
+            int n = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.get(bytes, offset, n);
+            offset += n;
         }
     }
 }
@@ -0,0 +1,65 @@
+package com.project.entity;
+
+import java.util.List;
+
+/**
+ * Bilan de l'import d'une table : lignes lues, insérées, rejetées par la validation
+ * ou déjà présentes en base, avec les premières erreurs rencontrées.
+ */
+public class ImportReport {
+    private final String table;
+    private final long read;
+    private final long imported;
+    private final long rejected;
+    private final long duplicates;
+    private final List<String> errors;
+    private final long elapsedMillis;
+
+    public ImportReport(String table, long read, long imported, long rejected, long duplicates,
+            List<String> errors, long elapsedMillis) {
+        this.table = table;
+        this.read = read;
+        this.imported = imported;
+        this.rejected = rejected;
+        this.duplicates = duplicates;
+        this.errors = List.copyOf(errors);
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public long getRead() {
+        return read;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    /**
+     * @return les premières erreurs, préfixées par le numéro de ligne quand il est connu
+     */
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d lues, %d importées, %d rejetées, %d doublons en %d ms",
+                table, read, imported, rejected, duplicates, elapsedMillis);
+    }
+}
@@ -0,0 +1,106 @@
+package com.project.entity;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Connexion physique gérée par le {@link ConnectionPool}, accompagnée de son
+ * cache LRU de PreparedStatement indexé par le texte SQL.
+ *
+ * Une instance n'est utilisée que par un emprunteur à la fois : le cache n'a donc
+ * pas besoin d'être synchronisé.
+ */
+public final class PooledConnection {
+
+    // Préfixe des entrées du cache préparées avec RETURN_GENERATED_KEYS
+    private static final String GENERATED_KEYS_PREFIX = "keys:";
+
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statements;
+
+    // Compteurs partagés par toutes les connexions du pool
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+
+    PooledConnection(Connection connection, int statementCacheSize, AtomicLong hits, AtomicLong misses) {
+        this.connection = connection;
+        this.hits = hits;
+        this.misses = misses;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > statementCacheSize) {
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Retourne le statement en cache pour ce SQL ou le prépare s'il est absent.
+     * Le statement ne doit pas être fermé par l'appelant mais rendu via {@link #recycle}.
+     */
+    public PreparedStatement prepare(String sql) throws SQLException {
+        return prepare(sql, sql, Statement.NO_GENERATED_KEYS);
+    }
+
+    /**
+     * Comme {@link #prepare(String)}, pour un INSERT dont les clés générées seront lues
+     * par {@link PreparedStatement#getGeneratedKeys()}. Mis en cache à part du même SQL
+     * préparé sans clés.
+     */
+    public PreparedStatement prepareReturningKeys(String sql) throws SQLException {
+        return prepare(GENERATED_KEYS_PREFIX + sql, sql, Statement.RETURN_GENERATED_KEYS);
+    }
+
+    private PreparedStatement prepare(String key, String sql, int autoGeneratedKeys) throws SQLException {
+        PreparedStatement stmt = statements.get(key);
+        if (stmt != null && !stmt.isClosed()) {
+            hits.incrementAndGet();
+            return stmt;
+        }
+        misses.incrementAndGet();
+        stmt = connection.prepareStatement(sql, autoGeneratedKeys);
+        statements.put(key, stmt);
+        return stmt;
+    }
+
+    /**
+     * Remet un statement dans un état réutilisable après exécution.
+     */
+    public void recycle(PreparedStatement stmt) {
+        try {
+            stmt.clearParameters();
+            stmt.setFetchSize(0);
+        } catch (SQLException e) {
+            // Statement inutilisable : on le retire du cache
+            statements.values().remove(stmt);
+            closeQuietly(stmt);
+        }
+    }
+
+    void close() throws SQLException {
+        statements.values().forEach(PooledConnection::closeQuietly);
+        statements.clear();
+        connection.close();
+    }
+
+    private static void closeQuietly(PreparedStatement stmt) {
+        try {
+            stmt.close();
+        } catch (SQLException e) {
+            System.err.println("❌ Erreur lors de la fermeture d'un statement : " + e.getMessage());
+        }
+    }
+}
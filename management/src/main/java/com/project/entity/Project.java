@@ -10,6 +10,8 @@ import com.project.enums.ProjectStatus;
 import com.project.enums.TaskStatus;
 
 public class Project  implements Serializable {
+    // Identifiant attribué à l'insertion (clé auto-incrémentée), 0 tant que le projet n'est pas enregistré
+    private int id;
     private String name;
     private String description;
     private LocalDate from;
@@ -17,6 +19,10 @@ public class Project  implements Serializable {
     private final List<Task> tasks = new ArrayList<>();
     private ProjectStatus status;
     private double progression;
+    // Version lue en base, comparée lors de la mise à jour (verrouillage optimiste)
+    private int version;
+    // Nombre de tâches par statut, indexé par ordinal : la progression se calcule en O(1)
+    private final int[] taskCountByStatus = new int[TaskStatus.values().length];
 
     public Project(String name, String description) {
         this.name = name;
@@ -27,6 +33,14 @@ public class Project  implements Serializable {
         this.to = null; // Date de fin pas encore définie
     }
 
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
     public String getName() {
         return name;
     }
@@ -75,19 +89,60 @@ public class Project  implements Serializable {
         this.progression = progression;
     }
 
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    /**
+     * Copie des champs du projet, identifiant et version compris, sans ses tâches : à modifier
+     * puis passer à {@code update} sans toucher à l'instance partagée (cache, dépôt en mémoire).
+     */
+    public Project copy() {
+        Project copy = new Project(name, description);
+        copy.id = id;
+        copy.from = from;
+        copy.to = to;
+        copy.status = status;
+        copy.progression = progression;
+        copy.version = version;
+        return copy;
+    }
+
     public List<Task> getTasks() {
         return Collections.unmodifiableList(tasks);
     }
 
     
 
+    public int getTaskCount(TaskStatus status) {
+        return taskCountByStatus[status.ordinal()];
+    }
+
     public void addTask(Task task) {
         tasks.add(task);
+        task.setProject(this);
+        taskCountByStatus[task.getStatus().ordinal()]++;
         updateProgression();
     }
 
     public void removeTask(Task task) {
-        tasks.remove(task);
+        if (tasks.remove(task)) {
+            task.setProject(null);
+            taskCountByStatus[task.getStatus().ordinal()]--;
+            updateProgression();
+        }
+    }
+
+    /**
+     * Appelé par {@link Task#setStatus} lorsqu'une tâche du projet change de statut.
+     */
+    void taskStatusChanged(TaskStatus from, TaskStatus to) {
+        taskCountByStatus[from.ordinal()]--;
+        taskCountByStatus[to.ordinal()]++;
         updateProgression();
     }
 
@@ -96,10 +151,7 @@ public class Project  implements Serializable {
             progression = 0.0;
             return;
         }
-        long doneCount = tasks.stream()
-                .filter(task -> task.getStatus() == TaskStatus.DONE)
-                .count();
-        progression = (double) doneCount / tasks.size() * 100;
+        progression = (double) taskCountByStatus[TaskStatus.DONE.ordinal()] / tasks.size() * 100;
     }
 
     @Override
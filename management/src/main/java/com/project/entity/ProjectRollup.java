@@ -0,0 +1,47 @@
+package com.project.entity;
+
+import com.project.enums.TaskPriority;
+import com.project.enums.TaskStatus;
+
+/**
+ * Nombre de tâches d'un projet par statut et par priorité.
+ */
+public class ProjectRollup {
+    private final String projectName;
+    private final int[] countByStatus;
+    private final int[] countByPriority;
+    private final int total;
+
+    public ProjectRollup(String projectName, int[] countByStatus, int[] countByPriority) {
+        this.projectName = projectName;
+        this.countByStatus = countByStatus.clone();
+        this.countByPriority = countByPriority.clone();
+        int sum = 0;
+        for (int count : countByStatus) {
+            sum += count;
+        }
+        this.total = sum;
+    }
+
+    public static ProjectRollup empty(String projectName) {
+        return new ProjectRollup(projectName,
+                new int[TaskStatus.values().length],
+                new int[TaskPriority.values().length]);
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+
+    public int getCount(TaskStatus status) {
+        return countByStatus[status.ordinal()];
+    }
+
+    public int getCount(TaskPriority priority) {
+        return countByPriority[priority.ordinal()];
+    }
+
+    public int getTotal() {
+        return total;
+    }
+}
@@ -0,0 +1,39 @@
+package com.project.entity;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.project.enums.ProjectStatus;
+
+/**
+ * Agrégats sur l'ensemble des projets : nombre de projets par statut et progression moyenne.
+ */
+public class ProjectStatistics {
+    private final Map<ProjectStatus, Long> countByStatus;
+    private final long total;
+    private final double averageProgression;
+
+    public ProjectStatistics(Map<ProjectStatus, Long> countByStatus, double progressionSum) {
+        this.countByStatus = new EnumMap<>(ProjectStatus.class);
+        long sum = 0;
+        for (ProjectStatus status : ProjectStatus.values()) {
+            long count = countByStatus.getOrDefault(status, 0L);
+            this.countByStatus.put(status, count);
+            sum += count;
+        }
+        this.total = sum;
+        this.averageProgression = sum == 0 ? 0.0 : progressionSum / sum;
+    }
+
+    public long getCount(ProjectStatus status) {
+        return countByStatus.get(status);
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public double getAverageProgression() {
+        return averageProgression;
+    }
+}
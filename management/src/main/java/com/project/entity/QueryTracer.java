@@ -0,0 +1,282 @@
+package com.project.entity;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Trace des ordres SQL exécutés par {@link DataBaseConnectivity}.
+ *
+ * Chaque exécution est agrégée par modèle de requête (le texte SQL avec ses {@code ?}) :
+ * nombre d'appels, d'erreurs, de lignes, temps d'exécution et de lecture. Une exécution
+ * dont la durée totale dépasse le seuil est en plus conservée dans un tampon circulaire
+ * des requêtes lentes, qui ne garde que les plus récentes.
+ *
+ * Un modèle appelé très souvent pour peu de lignes signale un N+1, un modèle qui
+ * retourne beaucoup de lignes ou lit longtemps signale un parcours complet.
+ */
+public class QueryTracer {
+
+    // Au-delà, les nouveaux modèles sont regroupés pour borner la mémoire (SQL construit dynamiquement)
+    private static final int MAX_TEMPLATES = 1_000;
+    private static final String OTHER_TEMPLATES = "(autres requêtes)";
+    private static final int SQL_DISPLAY_LENGTH = 120;
+
+    private final long slowNanos;
+    private final AtomicReferenceArray<SlowQuery> slowLog;
+    private final AtomicLong slowCount = new AtomicLong();
+    private final ConcurrentHashMap<String, TemplateStats> templates = new ConcurrentHashMap<>();
+
+    /**
+     * @param slowThresholdMillis durée (exécution et lecture) au-delà de laquelle une requête est lente
+     * @param slowLogCapacity     nombre de requêtes lentes conservées
+     */
+    public QueryTracer(long slowThresholdMillis, int slowLogCapacity) {
+        if (slowLogCapacity <= 0) {
+            throw new IllegalArgumentException("La capacité du journal des requêtes lentes doit être positive");
+        }
+        this.slowNanos = slowThresholdMillis * 1_000_000;
+        this.slowLog = new AtomicReferenceArray<>(slowLogCapacity);
+    }
+
+    /**
+     * Enregistre une exécution.
+     *
+     * @param rows lignes lues pour une requête, affectées pour une mise à jour
+     */
+    public void record(String sql, int parameterCount, long executeNanos, long fetchNanos, long rows, boolean failed) {
+        TemplateStats stats = templates.get(sql);
+        if (stats == null) {
+            String key = templates.size() < MAX_TEMPLATES ? sql : OTHER_TEMPLATES;
+            stats = templates.computeIfAbsent(key, TemplateStats::new);
+        }
+        stats.record(executeNanos, fetchNanos, rows, failed);
+
+        if (executeNanos + fetchNanos >= slowNanos) {
+            long index = slowCount.getAndIncrement();
+            slowLog.set((int) (index % slowLog.length()), new SlowQuery(Instant.now(), sql, parameterCount,
+                    executeNanos, fetchNanos, rows, failed, Thread.currentThread().getName()));
+        }
+    }
+
+    public long getSlowThresholdMillis() {
+        return slowNanos / 1_000_000;
+    }
+
+    /**
+     * @return le nombre total de requêtes lentes, y compris celles sorties du tampon
+     */
+    public long getSlowCount() {
+        return slowCount.get();
+    }
+
+    public long getStatementCount() {
+        long count = 0;
+        for (TemplateStats stats : templates.values()) {
+            count += stats.getCount();
+        }
+        return count;
+    }
+
+    /**
+     * @return les requêtes lentes encore dans le tampon, de la plus récente à la plus ancienne
+     */
+    public List<SlowQuery> getSlowQueries() {
+        long end = slowCount.get();
+        int capacity = slowLog.length();
+        List<SlowQuery> queries = new ArrayList<>();
+        for (long i = end - 1; i >= Math.max(0, end - capacity); i--) {
+            SlowQuery query = slowLog.get((int) (i % capacity));
+            if (query != null) {
+                queries.add(query);
+            }
+        }
+        return queries;
+    }
+
+    /**
+     * @return les {@code limit} modèles de requête au temps cumulé le plus élevé
+     */
+    public List<TemplateStats> getTopTemplates(int limit) {
+        return templates.values().stream()
+                .sorted(Comparator.comparingLong(TemplateStats::getTotalNanos).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public void reset() {
+        templates.clear();
+        slowCount.set(0);
+        for (int i = 0; i < slowLog.length(); i++) {
+            slowLog.set(i, null);
+        }
+    }
+
+    /**
+     * Résumé texte : les {@code limit} modèles les plus coûteux puis les requêtes lentes récentes.
+     */
+    public String summary(int limit) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== Requêtes SQL (top ").append(limit).append(" par temps cumulé) ===\n");
+        sb.append(String.format("%9s %7s %10s %9s %9s %10s %10s  %s%n",
+                "Appels", "Erreurs", "Total ms", "Moy µs", "Max µs", "Lignes/app", "Lecture ms", "Requête"));
+        for (TemplateStats stats : getTopTemplates(limit)) {
+            long count = Math.max(1, stats.getCount());
+            sb.append(String.format("%9d %7d %10.1f %9.1f %9.1f %10.1f %10.1f  %s%n",
+                    stats.getCount(), stats.getErrors(),
+                    stats.getTotalNanos() / 1e6,
+                    stats.getTotalNanos() / 1e3 / count,
+                    stats.getMaxNanos() / 1e3,
+                    (double) stats.getRows() / count,
+                    stats.getFetchNanos() / 1e6,
+                    abbreviate(stats.getTemplate())));
+        }
+        List<SlowQuery> slow = getSlowQueries();
+        sb.append("--- Requêtes lentes (≥ ").append(getSlowThresholdMillis()).append(" ms) : ")
+                .append(getSlowCount()).append(" au total ---\n");
+        for (SlowQuery query : slow.subList(0, Math.min(limit, slow.size()))) {
+            sb.append(query).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static String abbreviate(String sql) {
+        String oneLine = sql.replaceAll("\\s+", " ").trim();
+        return oneLine.length() <= SQL_DISPLAY_LENGTH ? oneLine : oneLine.substring(0, SQL_DISPLAY_LENGTH - 1) + "…";
+    }
+
+    /**
+     * Cumuls d'un modèle de requête, mis à jour sans verrou.
+     */
+    public static final class TemplateStats {
+        private final String template;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder executeNanos = new LongAdder();
+        private final LongAdder fetchNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private TemplateStats(String template) {
+            this.template = template;
+        }
+
+        private void record(long execute, long fetch, long rowCount, boolean failed) {
+            count.increment();
+            if (failed) {
+                errors.increment();
+            }
+            if (rowCount > 0) {
+                rows.add(rowCount);
+            }
+            executeNanos.add(execute);
+            fetchNanos.add(fetch);
+            long total = execute + fetch;
+            if (total > maxNanos.get()) {
+                maxNanos.accumulateAndGet(total, Math::max);
+            }
+        }
+
+        public String getTemplate() {
+            return template;
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public long getRows() {
+            return rows.sum();
+        }
+
+        public long getExecuteNanos() {
+            return executeNanos.sum();
+        }
+
+        public long getFetchNanos() {
+            return fetchNanos.sum();
+        }
+
+        public long getTotalNanos() {
+            return getExecuteNanos() + getFetchNanos();
+        }
+
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+    }
+
+    /**
+     * Exécution ayant dépassé le seuil de lenteur.
+     */
+    public static final class SlowQuery {
+        private final Instant at;
+        private final String sql;
+        private final int parameterCount;
+        private final long executeNanos;
+        private final long fetchNanos;
+        private final long rows;
+        private final boolean failed;
+        private final String thread;
+
+        private SlowQuery(Instant at, String sql, int parameterCount, long executeNanos, long fetchNanos, long rows,
+                boolean failed, String thread) {
+            this.at = at;
+            this.sql = sql;
+            this.parameterCount = parameterCount;
+            this.executeNanos = executeNanos;
+            this.fetchNanos = fetchNanos;
+            this.rows = rows;
+            this.failed = failed;
+            this.thread = thread;
+        }
+
+        public Instant getAt() {
+            return at;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public int getParameterCount() {
+            return parameterCount;
+        }
+
+        public long getExecuteNanos() {
+            return executeNanos;
+        }
+
+        public long getFetchNanos() {
+            return fetchNanos;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public boolean isFailed() {
+            return failed;
+        }
+
+        public String getThread() {
+            return thread;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s [%s] exécution %.1f ms, lecture %.1f ms, %d ligne(s), %d paramètre(s)%s : %s",
+                    at, thread, executeNanos / 1e6, fetchNanos / 1e6, rows, parameterCount,
+                    failed ? ", ÉCHEC" : "", abbreviate(sql));
+        }
+    }
+}
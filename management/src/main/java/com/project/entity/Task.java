@@ -6,11 +6,19 @@ import com.project.enums.TaskPriority;
 import com.project.enums.TaskStatus;
 
 public class Task {
+    // Identifiant attribué à l'insertion (clé auto-incrémentée), 0 tant que la tâche n'est pas enregistrée
+    private int id;
+    // Identifiant du projet de rattachement, 0 si la tâche n'est rattachée à aucun projet
+    private int projectId;
     private String name;
     private String description;
     private LocalDate dueDate;
     private TaskStatus status;
     private TaskPriority priority;
+    // Version lue en base, comparée lors de la mise à jour (verrouillage optimiste)
+    private int version;
+    // Projet auquel la tâche a été ajoutée, prévenu des changements de statut
+    private Project project;
 
     public Task(String name, String description, LocalDate dueDate, TaskStatus status, TaskPriority priority) {
         this.name = name;
@@ -20,6 +28,22 @@ public class Task {
         this.priority = priority;
     }
 
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public int getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(int projectId) {
+        this.projectId = projectId;
+    }
+
     public String getName() {
         return name;
     }
@@ -49,7 +73,11 @@ public class Task {
     }
 
     public void setStatus(TaskStatus status) {
+        TaskStatus previous = this.status;
         this.status = status;
+        if (project != null && previous != status) {
+            project.taskStatusChanged(previous, status);
+        }
     }
 
     public TaskPriority getPriority() {
@@ -60,4 +88,28 @@ public class Task {
         this.priority = priority;
     }
 
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    /**
+     * Copie modifiable, identifiants et version compris, détachée de son projet : à modifier puis
+     * passer à {@code update} sans toucher à l'instance partagée (cache, dépôt en mémoire).
+     */
+    public Task copy() {
+        Task copy = new Task(name, description, dueDate, status, priority);
+        copy.id = id;
+        copy.projectId = projectId;
+        copy.version = version;
+        return copy;
+    }
+
+    void setProject(Project project) {
+        this.project = project;
+    }
+
 }
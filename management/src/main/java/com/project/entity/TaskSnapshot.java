@@ -0,0 +1,159 @@
+package com.project.entity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.project.enums.TaskStatus;
+
+/**
+ * Vue immuable et versionnée de toutes les tâches, indexée par nom.
+ *
+ * Les tâches sont réparties en 1 024 paquets selon le hachage de leur nom. Une écriture
+ * produit un nouvel instantané qui ne recopie que les paquets touchés et partage
+ * tous les autres avec le précédent : une modification coûte O(n / 1 024) au lieu de
+ * O(n), et un instantané déjà publié n'est jamais modifié.
+ */
+public final class TaskSnapshot {
+
+    private static final int BUCKET_BITS = 10;
+    private static final int BUCKETS = 1 << BUCKET_BITS;
+    private static final TaskSnapshot EMPTY = new TaskSnapshot(0, 0, emptyBuckets());
+
+    private final long version;
+    private final int size;
+    // Jamais modifiés après publication
+    private final Map<String, TaskState>[] buckets;
+
+    private TaskSnapshot(long version, int size, Map<String, TaskState>[] buckets) {
+        this.version = version;
+        this.size = size;
+        this.buckets = buckets;
+    }
+
+    public static TaskSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @return le numéro de l'instantané, incrémenté à chaque écriture
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return l'état de la tâche {@code name}, ou null si elle n'existe pas dans cet instantané
+     */
+    public TaskState get(String name) {
+        return buckets[bucket(name)].get(name);
+    }
+
+    /**
+     * Parcourt les tâches de l'instantané, dans un ordre non spécifié.
+     */
+    public Stream<TaskState> stream() {
+        return Arrays.stream(buckets).flatMap(b -> b.values().stream());
+    }
+
+    /**
+     * @return les tâches de l'instantané, dans un ordre non spécifié
+     */
+    public List<TaskState> getAll() {
+        List<TaskState> all = new ArrayList<>(size);
+        for (Map<String, TaskState> bucket : buckets) {
+            all.addAll(bucket.values());
+        }
+        return all;
+    }
+
+    /**
+     * @return le nombre de tâches de l'instantané par statut, en un seul parcours
+     */
+    public Map<TaskStatus, Long> countByStatus() {
+        long[] counts = new long[TaskStatus.values().length];
+        for (Map<String, TaskState> bucket : buckets) {
+            for (TaskState state : bucket.values()) {
+                counts[state.getStatus().ordinal()]++;
+            }
+        }
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            byStatus.put(status, counts[status.ordinal()]);
+        }
+        return byStatus;
+    }
+
+    /**
+     * @return un nouvel instantané où {@code state} ajoute ou remplace la tâche de même nom
+     */
+    public TaskSnapshot with(TaskState state) {
+        return withAll(List.of(state));
+    }
+
+    /**
+     * Comme {@link #with(TaskState)} pour plusieurs tâches, en une seule version et
+     * en recopiant chaque paquet touché une seule fois.
+     */
+    public TaskSnapshot withAll(Collection<TaskState> states) {
+        if (states.isEmpty()) {
+            return this;
+        }
+        Map<String, TaskState>[] copy = buckets.clone();
+        boolean[] copied = new boolean[BUCKETS];
+        int newSize = size;
+        for (TaskState state : states) {
+            int index = bucket(state.getName());
+            if (!copied[index]) {
+                copy[index] = new HashMap<>(copy[index]);
+                copied[index] = true;
+            }
+            if (copy[index].put(state.getName(), state) == null) {
+                newSize++;
+            }
+        }
+        return new TaskSnapshot(version + 1, newSize, copy);
+    }
+
+    /**
+     * @return un nouvel instantané sans la tâche {@code name}, ou celui-ci si elle n'y est pas
+     */
+    public TaskSnapshot without(String name) {
+        int index = bucket(name);
+        if (!buckets[index].containsKey(name)) {
+            return this;
+        }
+        Map<String, TaskState>[] copy = buckets.clone();
+        Map<String, TaskState> bucket = new HashMap<>(copy[index]);
+        bucket.remove(name);
+        copy[index] = bucket.isEmpty() ? Collections.emptyMap() : bucket;
+        return new TaskSnapshot(version + 1, size - 1, copy);
+    }
+
+    private static int bucket(String name) {
+        int h = name.hashCode();
+        return (h ^ (h >>> 16)) & (BUCKETS - 1);
+    }
+
+    private static Map<String, TaskState>[] emptyBuckets() {
+        Map<String, TaskState>[] buckets = newBuckets();
+        Arrays.fill(buckets, Collections.emptyMap());
+        return buckets;
+    }
+
+    // Pas de tableau générique en Java : seule cette création passe par le type brut
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Map<String, TaskState>[] newBuckets() {
+        return new Map[BUCKETS];
+    }
+}
@@ -0,0 +1,78 @@
+package com.project.entity;
+
+import java.time.LocalDate;
+
+import com.project.enums.TaskPriority;
+import com.project.enums.TaskStatus;
+
+/**
+ * Copie immuable d'une tâche à un instant donné, avec le nom de son projet.
+ *
+ * Contrairement à {@link Task}, modifiée sur place par la console, elle peut être
+ * lue depuis n'importe quel thread sans synchronisation.
+ */
+public final class TaskState {
+    private final String name;
+    private final String description;
+    private final LocalDate dueDate;
+    private final TaskStatus status;
+    private final TaskPriority priority;
+    private final String projectName;
+
+    public TaskState(String name, String description, LocalDate dueDate, TaskStatus status, TaskPriority priority,
+            String projectName) {
+        this.name = name;
+        this.description = description;
+        this.dueDate = dueDate;
+        this.status = status;
+        this.priority = priority;
+        this.projectName = projectName;
+    }
+
+    /**
+     * Fige l'état courant de {@code task}. À appeler depuis le thread qui la modifie.
+     */
+    public static TaskState of(Task task, String projectName) {
+        return new TaskState(task.getName(), task.getDescription(), task.getDueDate(), task.getStatus(),
+                task.getPriority(), projectName);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public TaskPriority getPriority() {
+        return priority;
+    }
+
+    /**
+     * @return le nom du projet, ou null si la tâche n'est rattachée à aucun projet connu
+     */
+    public String getProjectName() {
+        return projectName;
+    }
+
+    /**
+     * @return une nouvelle Task modifiable, détachée de tout projet
+     */
+    public Task toTask() {
+        return new Task(name, description, dueDate, status, priority);
+    }
+
+    @Override
+    public String toString() {
+        return "TaskState{" + name + ", " + status + ", échéance " + dueDate + "}";
+    }
+}
@@ -0,0 +1,25 @@
+package com.project.entity;
+
+/**
+ * Tâche lue avec le nom de son projet, en une seule requête (jointure taches/projets).
+ */
+public class TaskWithProject {
+    private final Task task;
+    private final String projectName;
+
+    public TaskWithProject(Task task, String projectName) {
+        this.task = task;
+        this.projectName = projectName;
+    }
+
+    public Task getTask() {
+        return task;
+    }
+
+    /**
+     * @return le nom du projet, ou null si la tâche n'est rattachée à aucun projet
+     */
+    public String getProjectName() {
+        return projectName;
+    }
+}
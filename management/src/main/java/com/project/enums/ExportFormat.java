@@ -0,0 +1,5 @@
+package com.project.enums;
+
+public enum ExportFormat {
+    CSV, JSONL
+}
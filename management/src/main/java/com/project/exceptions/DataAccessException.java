@@ -0,0 +1,11 @@
+package com.project.exceptions;
+
+/**
+ * Erreur SQL survenue hors d'une méthode pouvant lever SQLException,
+ * par exemple pendant le parcours d'un Stream issu de la base.
+ */
+public class DataAccessException extends RuntimeException {
+    public DataAccessException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,7 +1,23 @@
 package com.project.exceptions;
 
+import java.util.List;
+
 public class DuplicateTaskException extends RuntimeException{
+    private final List<String> names;
+
     public DuplicateTaskException(String message){
+        this(message, List.of());
+    }
+
+    /**
+     * @param names noms des éléments déjà existants, pour une insertion par lots
+     */
+    public DuplicateTaskException(String message, List<String> names) {
         super(message);
+        this.names = List.copyOf(names);
+    }
+
+    public List<String> getNames() {
+        return names;
     }
 }
@@ -0,0 +1,31 @@
+package com.project.exceptions;
+
+/**
+ * Mise à jour refusée : l'élément a été modifié par quelqu'un d'autre depuis sa lecture.
+ * Il faut le relire puis réappliquer la modification.
+ */
+public class OptimisticLockException extends BusinessException {
+    private final String name;
+    private final int expectedVersion;
+    private final int actualVersion;
+
+    public OptimisticLockException(String name, int expectedVersion, int actualVersion) {
+        super("Modification concurrente de " + name + " : version " + expectedVersion
+                + " attendue, version " + actualVersion + " en base");
+        this.name = name;
+        this.expectedVersion = expectedVersion;
+        this.actualVersion = actualVersion;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    public int getActualVersion() {
+        return actualVersion;
+    }
+}
@@ -1,9 +1,12 @@
 package com.project.interfaces;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 import com.project.entity.Project;
+import com.project.entity.ProjectStatistics;
 import com.project.enums.ProjectStatus;
 import com.project.exceptions.DuplicateProjectException;
 import com.project.exceptions.DuplicateTaskException;
@@ -11,15 +14,61 @@ import com.project.exceptions.DuplicateTaskException;
 public interface IProjectRepository {
     public Project create(String name,String description);
     
+    /**
+     * Insère le projet et lui attribue l'identifiant généré.
+     */
     public void add(Project project) throws DuplicateProjectException,SQLException;
 
+    /**
+     * Insère plusieurs projets par lots. Les projets non dupliqués sont insérés même
+     * si d'autres existent déjà ; ces derniers sont alors signalés par l'exception.
+     * Chaque projet inséré reçoit son identifiant, les doublons gardent 0.
+     */
+    void addAll(Collection<Project> projects) throws DuplicateProjectException, SQLException;
+
     public boolean delete(Project project) throws DuplicateTaskException, SQLException;
 
+    /**
+     * @return false si aucun projet ne porte cet identifiant
+     */
+    boolean deleteById(int id) throws SQLException;
+
+    /**
+     * Enregistre le projet si sa version est toujours celle de la base, puis l'incrémente.
+     *
+     * @return false si le projet n'existe pas
+     * @throws com.project.exceptions.OptimisticLockException si le projet a été modifié depuis sa lecture
+     */
     boolean update(Project project) throws SQLException;
 
+    /**
+     * Comme {@link #update(Project)}, le projet étant retrouvé par son identifiant
+     * plutôt que par son nom.
+     *
+     * @return false si aucun projet ne porte l'identifiant de {@code project}
+     * @throws com.project.exceptions.OptimisticLockException si le projet a été modifié depuis sa lecture
+     */
+    boolean updateById(Project project) throws SQLException;
+
     List<Project> getAll() throws SQLException;
 
+    /**
+     * Parcourt tous les projets sans les charger en mémoire.
+     * Le Stream retourné doit être fermé pour libérer le curseur.
+     */
+    Stream<Project> streamAll() throws SQLException;
+
     Project findByName(String name);
 
+    /**
+     * @return le projet portant cet identifiant, ou null
+     */
+    Project findById(int id) throws SQLException;
+
     List<Project> findByStatus(ProjectStatus status) throws SQLException;
+
+    /**
+     * Compte les projets par statut et calcule la progression moyenne en un seul aller-retour.
+     */
+    ProjectStatistics getStatistics() throws SQLException;
 }
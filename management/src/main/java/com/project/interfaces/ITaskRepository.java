@@ -2,9 +2,13 @@ package com.project.interfaces;
 
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import com.project.entity.Task;
+import com.project.entity.TaskWithProject;
 import com.project.enums.TaskPriority;
 import com.project.enums.TaskStatus;
 import com.project.exceptions.DuplicateTaskException;
@@ -12,20 +16,83 @@ import com.project.exceptions.DuplicateTaskException;
 public interface ITaskRepository {
     Task create(String name,String description,LocalDate dueDate,TaskStatus taskStatus,TaskPriority taskPriority);
 
+    /**
+     * Insère la tâche dans le projet {@code projectId} (0 : sans projet) et lui attribue
+     * l'identifiant généré.
+     */
     void add(Task task,int projectId) throws DuplicateTaskException, SQLException;
 
+    /**
+     * Insère plusieurs tâches d'un même projet par lots. Les tâches non dupliquées sont
+     * insérées même si d'autres existent déjà ; ces dernières sont alors signalées par l'exception.
+     * Chaque tâche insérée reçoit son identifiant, les doublons gardent 0.
+     */
+    void addAll(Collection<Task> tasks, int projectId) throws DuplicateTaskException, SQLException;
+
     boolean delete(Task task) throws SQLException;
 
+    /**
+     * @return false si aucune tâche ne porte cet identifiant
+     */
+    boolean deleteById(int id) throws SQLException;
+
+    /**
+     * Enregistre la tâche si sa version est toujours celle de la base, puis l'incrémente.
+     *
+     * @return false si la tâche n'existe pas
+     * @throws com.project.exceptions.OptimisticLockException si la tâche a été modifiée depuis sa lecture
+     */
     boolean update(Task task) throws SQLException;
 
+    /**
+     * Comme {@link #update(Task)}, la tâche étant retrouvée par son identifiant
+     * plutôt que par son nom.
+     *
+     * @return false si aucune tâche ne porte l'identifiant de {@code task}
+     * @throws com.project.exceptions.OptimisticLockException si la tâche a été modifiée depuis sa lecture
+     */
+    boolean updateById(Task task) throws SQLException;
+
     List<Task> getAll() throws SQLException;
 
+    /**
+     * Parcourt toutes les tâches sans les charger en mémoire.
+     * Le Stream retourné doit être fermé pour libérer le curseur.
+     */
+    Stream<Task> streamAll() throws SQLException;
+
     Task findByName(String name) throws SQLException;
 
+    /**
+     * @return la tâche portant cet identifiant, ou null
+     */
+    Task findById(int id) throws SQLException;
+
     List<Task> findByStatus(TaskStatus status) throws SQLException;
-    
 
+    /**
+     * @return les tâches du projet {@code projectId} (0 : tâches sans projet)
+     */
+    List<Task> findByProjectId(int projectId) throws SQLException;
+
+    /**
+     * Variante en flux de {@link #findByStatus(TaskStatus)}. Le Stream retourné doit être fermé.
+     */
+    Stream<Task> streamByStatus(TaskStatus status) throws SQLException;
+
+    /**
+     * Parcourt toutes les tâches accompagnées du nom de leur projet. Le Stream retourné doit être fermé.
+     */
+    Stream<TaskWithProject> streamAllWithProject() throws SQLException;
 
+    /**
+     * Parcourt les tâches d'un statut accompagnées du nom de leur projet. Le Stream retourné doit être fermé.
+     */
+    Stream<TaskWithProject> streamByStatusWithProject(TaskStatus status) throws SQLException;
 
+    /**
+     * Compte les tâches par statut en un seul aller-retour. Tous les statuts sont présents dans le résultat.
+     */
+    Map<TaskStatus, Long> countByStatus() throws SQLException;
 
 }
@@ -0,0 +1,12 @@
+package com.project.interfaces;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Convertit la ligne courante d'un ResultSet en objet métier.
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+    T map(ResultSet rs) throws SQLException;
+}
@@ -0,0 +1,30 @@
+package com.project.interfaces;
+
+import java.util.Collection;
+
+import com.project.entity.Task;
+
+/**
+ * Notifié par TaskService après chaque écriture réussie sur une tâche.
+ */
+public interface TaskListener {
+
+    /**
+     * @param projectName nom du projet de rattachement, ou null s'il n'est pas connu
+     */
+    void taskAdded(Task task, String projectName);
+
+    /**
+     * Ajout groupé, par exemple après une insertion par lots. Par défaut, un appel
+     * à {@link #taskAdded(Task, String)} par tâche.
+     */
+    default void tasksAdded(Collection<Task> tasks, String projectName) {
+        for (Task task : tasks) {
+            taskAdded(task, projectName);
+        }
+    }
+
+    void taskUpdated(Task task);
+
+    void taskDeleted(Task task);
+}
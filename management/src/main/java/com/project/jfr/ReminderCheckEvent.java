@@ -0,0 +1,34 @@
+package com.project.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Réveil de ReminderService pour traiter les échéances dépassées.
+ * Désactivé par défaut ; le profil {@code jfr/project.jfc} l'active.
+ */
+@Name("com.project.ReminderCheck")
+@Label("Vérification des rappels")
+@Description("Échéances examinées et rappels émis lors d'un réveil de ReminderService")
+@Category({ "Project Management", "Rappels" })
+@Enabled(false)
+@StackTrace(false)
+public class ReminderCheckEvent extends Event {
+
+    @Label("Opération")
+    public String operation;
+
+    @Label("Échéances examinées")
+    public int examined;
+
+    @Label("Rappels émis")
+    public int notified;
+
+    @Label("Échéances restantes")
+    public int pending;
+}
@@ -0,0 +1,28 @@
+package com.project.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Génération d'un rapport du menu Rapports, saisie de l'utilisateur exclue.
+ * Désactivé par défaut ; le profil {@code jfr/project.jfc} l'active.
+ */
+@Name("com.project.Report")
+@Label("Rapport")
+@Description("Rapport généré, nombre de lignes produites et durée")
+@Category({ "Project Management", "Rapports" })
+@Enabled(false)
+@StackTrace(false)
+public class ReportEvent extends Event {
+
+    @Label("Opération")
+    public String operation;
+
+    @Label("Lignes")
+    public long rows;
+}
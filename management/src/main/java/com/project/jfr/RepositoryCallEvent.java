@@ -0,0 +1,85 @@
+package com.project.jfr;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.project.metrics.MethodTimer;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Appel d'une méthode de ProjectRepository ou TaskRepository.
+ *
+ * Désactivé par défaut ; le profil {@code jfr/project.jfc} l'active. Désactivé,
+ * l'événement n'est jamais rempli ni écrit et le JIT supprime son allocation.
+ */
+@Name("com.project.RepositoryCall")
+@Label("Appel de dépôt")
+@Description("Méthode de dépôt appelée, nombre de lignes et durée")
+@Category({ "Project Management", "Dépôts" })
+@Enabled(false)
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+
+    @Label("Opération")
+    String operation;
+
+    @Label("Lignes")
+    @Description("Entités lues ou écrites ; -1 pour un flux, dont les lignes sont lues après l'appel")
+    long rows;
+
+    @Label("Échec")
+    boolean failed;
+
+    /**
+     * Exécute {@code call} sous {@code timer} et émet un événement nommé d'après le timer.
+     */
+    public static <T, E extends Exception> T time(MethodTimer timer, MethodTimer.Call<T, E> call) throws E {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        event.begin();
+        T result = null;
+        boolean failed = true;
+        try {
+            result = timer.time(call);
+            failed = false;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = timer.getName();
+                event.rows = failed ? 0 : rows(result);
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+
+    private static long rows(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (result instanceof Number number) {
+            return number.longValue();
+        }
+        if (result instanceof Boolean updated) {
+            return updated ? 1 : 0;
+        }
+        if (result instanceof Stream<?>) {
+            return -1;
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,125 @@
+package com.project.metrics;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.project.entity.Project;
+import com.project.entity.ProjectStatistics;
+import com.project.enums.ProjectStatus;
+import com.project.exceptions.DuplicateProjectException;
+import com.project.exceptions.DuplicateTaskException;
+import com.project.interfaces.IProjectRepository;
+import com.project.jfr.RepositoryCallEvent;
+
+/**
+ * Décorateur qui mesure chaque méthode du dépôt délégué sous le nom {@code ProjectRepository.<méthode>}.
+ * Placé sous le cache, il ne voit que les accès réels au stockage. Pour les flux,
+ * seule l'ouverture est mesurée. Chaque appel émet aussi un {@link RepositoryCallEvent} JFR.
+ */
+public class InstrumentedProjectRepository implements IProjectRepository {
+
+    private final IProjectRepository delegate;
+    private final MethodTimer create;
+    private final MethodTimer add;
+    private final MethodTimer addAll;
+    private final MethodTimer delete;
+    private final MethodTimer deleteById;
+    private final MethodTimer update;
+    private final MethodTimer updateById;
+    private final MethodTimer getAll;
+    private final MethodTimer streamAll;
+    private final MethodTimer findByName;
+    private final MethodTimer findById;
+    private final MethodTimer findByStatus;
+    private final MethodTimer getStatistics;
+
+    public InstrumentedProjectRepository(IProjectRepository delegate, MetricsRegistry metrics) {
+        this.delegate = delegate;
+        this.create = metrics.timer("ProjectRepository.create");
+        this.add = metrics.timer("ProjectRepository.add");
+        this.addAll = metrics.timer("ProjectRepository.addAll");
+        this.delete = metrics.timer("ProjectRepository.delete");
+        this.deleteById = metrics.timer("ProjectRepository.deleteById");
+        this.update = metrics.timer("ProjectRepository.update");
+        this.updateById = metrics.timer("ProjectRepository.updateById");
+        this.getAll = metrics.timer("ProjectRepository.getAll");
+        this.streamAll = metrics.timer("ProjectRepository.streamAll");
+        this.findByName = metrics.timer("ProjectRepository.findByName");
+        this.findById = metrics.timer("ProjectRepository.findById");
+        this.findByStatus = metrics.timer("ProjectRepository.findByStatus");
+        this.getStatistics = metrics.timer("ProjectRepository.getStatistics");
+    }
+
+    @Override
+    public Project create(String name, String description) {
+        return RepositoryCallEvent.time(create, () -> delegate.create(name, description));
+    }
+
+    @Override
+    public void add(Project project) throws DuplicateProjectException, SQLException {
+        RepositoryCallEvent.time(add, () -> {
+            delegate.add(project);
+            return 1;
+        });
+    }
+
+    @Override
+    public void addAll(Collection<Project> projects) throws DuplicateProjectException, SQLException {
+        RepositoryCallEvent.time(addAll, () -> {
+            delegate.addAll(projects);
+            return projects.size();
+        });
+    }
+
+    @Override
+    public boolean delete(Project project) throws DuplicateTaskException, SQLException {
+        return RepositoryCallEvent.time(delete, () -> delegate.delete(project));
+    }
+
+    @Override
+    public boolean deleteById(int id) throws SQLException {
+        return RepositoryCallEvent.time(deleteById, () -> delegate.deleteById(id));
+    }
+
+    @Override
+    public boolean update(Project project) throws SQLException {
+        return RepositoryCallEvent.time(update, () -> delegate.update(project));
+    }
+
+    @Override
+    public boolean updateById(Project project) throws SQLException {
+        return RepositoryCallEvent.time(updateById, () -> delegate.updateById(project));
+    }
+
+    @Override
+    public List<Project> getAll() throws SQLException {
+        return RepositoryCallEvent.time(getAll, delegate::getAll);
+    }
+
+    @Override
+    public Stream<Project> streamAll() throws SQLException {
+        return RepositoryCallEvent.time(streamAll, delegate::streamAll);
+    }
+
+    @Override
+    public Project findByName(String name) {
+        return RepositoryCallEvent.time(findByName, () -> delegate.findByName(name));
+    }
+
+    @Override
+    public Project findById(int id) throws SQLException {
+        return RepositoryCallEvent.time(findById, () -> delegate.findById(id));
+    }
+
+    @Override
+    public List<Project> findByStatus(ProjectStatus status) throws SQLException {
+        return RepositoryCallEvent.time(findByStatus, () -> delegate.findByStatus(status));
+    }
+
+    @Override
+    public ProjectStatistics getStatistics() throws SQLException {
+        return RepositoryCallEvent.time(getStatistics, delegate::getStatistics);
+    }
+}
@@ -0,0 +1,111 @@
+package com.project.metrics;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import com.project.entity.Project;
+import com.project.entity.ProjectRollup;
+import com.project.entity.ProjectStatistics;
+import com.project.exceptions.BusinessException;
+import com.project.exceptions.DuplicateProjectException;
+import com.project.exceptions.DuplicateTaskException;
+import com.project.interfaces.IProjectRepository;
+import com.project.services.AsyncExecutor;
+import com.project.services.ProjectRollupTracker;
+import com.project.services.ProjectService;
+
+/**
+ * ProjectService dont chaque méthode est mesurée sous le nom {@code ProjectService.<méthode>}.
+ * Les variantes *Async appellent les méthodes synchrones et sont donc mesurées à travers elles.
+ */
+public class InstrumentedProjectService extends ProjectService {
+
+    private final MethodTimer createProject;
+    private final MethodTimer addProjects;
+    private final MethodTimer getAllProjects;
+    private final MethodTimer streamAllProjects;
+    private final MethodTimer getStatistics;
+    private final MethodTimer findByName;
+    private final MethodTimer findById;
+    private final MethodTimer getProjectRollup;
+    private final MethodTimer updateProject;
+    private final MethodTimer updateProjectWithRetry;
+    private final MethodTimer deleteProject;
+
+    public InstrumentedProjectService(IProjectRepository projectRepo, ProjectRollupTracker rollups,
+            AsyncExecutor async, MetricsRegistry metrics) {
+        super(projectRepo, rollups, async);
+        this.createProject = metrics.timer("ProjectService.createProject");
+        this.addProjects = metrics.timer("ProjectService.addProjects");
+        this.getAllProjects = metrics.timer("ProjectService.getAllProjects");
+        this.streamAllProjects = metrics.timer("ProjectService.streamAllProjects");
+        this.getStatistics = metrics.timer("ProjectService.getStatistics");
+        this.findByName = metrics.timer("ProjectService.findByName");
+        this.findById = metrics.timer("ProjectService.findById");
+        this.getProjectRollup = metrics.timer("ProjectService.getProjectRollup");
+        this.updateProject = metrics.timer("ProjectService.updateProject");
+        this.updateProjectWithRetry = metrics.timer("ProjectService.updateProjectWithRetry");
+        this.deleteProject = metrics.timer("ProjectService.deleteProject");
+    }
+
+    @Override
+    public Project createProject(String name, String description) throws DuplicateProjectException, SQLException {
+        return createProject.time(() -> super.createProject(name, description));
+    }
+
+    @Override
+    public void addProjects(Collection<Project> projects) throws DuplicateProjectException, SQLException {
+        addProjects.time(() -> {
+            super.addProjects(projects);
+            return null;
+        });
+    }
+
+    @Override
+    public List<Project> getAllProjects() throws SQLException {
+        return getAllProjects.time(super::getAllProjects);
+    }
+
+    @Override
+    public Stream<Project> streamAllProjects() throws SQLException {
+        return streamAllProjects.time(super::streamAllProjects);
+    }
+
+    @Override
+    public ProjectStatistics getStatistics() throws SQLException {
+        return getStatistics.time(super::getStatistics);
+    }
+
+    @Override
+    public Project findByName(String name) throws BusinessException {
+        return findByName.time(() -> super.findByName(name));
+    }
+
+    @Override
+    public Project findById(int id) throws BusinessException, SQLException {
+        return findById.time(() -> super.findById(id));
+    }
+
+    @Override
+    public ProjectRollup getProjectRollup(String projectName) {
+        return getProjectRollup.time(() -> super.getProjectRollup(projectName));
+    }
+
+    @Override
+    public boolean updateProject(Project project) throws BusinessException {
+        return updateProject.time(() -> super.updateProject(project));
+    }
+
+    @Override
+    public Project updateProject(String name, Consumer<Project> changes) throws BusinessException {
+        return updateProjectWithRetry.time(() -> super.updateProject(name, changes));
+    }
+
+    @Override
+    public boolean deleteProject(Project project) throws BusinessException, DuplicateTaskException, SQLException {
+        return deleteProject.time(() -> super.deleteProject(project));
+    }
+}
@@ -0,0 +1,156 @@
+package com.project.metrics;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.project.entity.Task;
+import com.project.entity.TaskWithProject;
+import com.project.enums.TaskPriority;
+import com.project.enums.TaskStatus;
+import com.project.exceptions.DuplicateTaskException;
+import com.project.interfaces.ITaskRepository;
+import com.project.jfr.RepositoryCallEvent;
+
+/**
+ * Décorateur qui mesure chaque méthode du dépôt délégué sous le nom {@code TaskRepository.<méthode>}.
+ * Placé sous le cache, il ne voit que les accès réels au stockage. Pour les flux,
+ * seule l'ouverture est mesurée. Chaque appel émet aussi un {@link RepositoryCallEvent} JFR.
+ */
+public class InstrumentedTaskRepository implements ITaskRepository {
+
+    private final ITaskRepository delegate;
+    private final MethodTimer create;
+    private final MethodTimer add;
+    private final MethodTimer addAll;
+    private final MethodTimer delete;
+    private final MethodTimer deleteById;
+    private final MethodTimer update;
+    private final MethodTimer updateById;
+    private final MethodTimer getAll;
+    private final MethodTimer streamAll;
+    private final MethodTimer findByName;
+    private final MethodTimer findById;
+    private final MethodTimer findByStatus;
+    private final MethodTimer findByProjectId;
+    private final MethodTimer streamByStatus;
+    private final MethodTimer streamAllWithProject;
+    private final MethodTimer streamByStatusWithProject;
+    private final MethodTimer countByStatus;
+
+    public InstrumentedTaskRepository(ITaskRepository delegate, MetricsRegistry metrics) {
+        this.delegate = delegate;
+        this.create = metrics.timer("TaskRepository.create");
+        this.add = metrics.timer("TaskRepository.add");
+        this.addAll = metrics.timer("TaskRepository.addAll");
+        this.delete = metrics.timer("TaskRepository.delete");
+        this.deleteById = metrics.timer("TaskRepository.deleteById");
+        this.update = metrics.timer("TaskRepository.update");
+        this.updateById = metrics.timer("TaskRepository.updateById");
+        this.getAll = metrics.timer("TaskRepository.getAll");
+        this.streamAll = metrics.timer("TaskRepository.streamAll");
+        this.findByName = metrics.timer("TaskRepository.findByName");
+        this.findById = metrics.timer("TaskRepository.findById");
+        this.findByStatus = metrics.timer("TaskRepository.findByStatus");
+        this.findByProjectId = metrics.timer("TaskRepository.findByProjectId");
+        this.streamByStatus = metrics.timer("TaskRepository.streamByStatus");
+        this.streamAllWithProject = metrics.timer("TaskRepository.streamAllWithProject");
+        this.streamByStatusWithProject = metrics.timer("TaskRepository.streamByStatusWithProject");
+        this.countByStatus = metrics.timer("TaskRepository.countByStatus");
+    }
+
+    @Override
+    public Task create(String name, String description, LocalDate dueDate, TaskStatus taskStatus,
+            TaskPriority taskPriority) {
+        return RepositoryCallEvent.time(create, () -> delegate.create(name, description, dueDate, taskStatus, taskPriority));
+    }
+
+    @Override
+    public void add(Task task, int projectId) throws DuplicateTaskException, SQLException {
+        RepositoryCallEvent.time(add, () -> {
+            delegate.add(task, projectId);
+            return 1;
+        });
+    }
+
+    @Override
+    public void addAll(Collection<Task> tasks, int projectId) throws DuplicateTaskException, SQLException {
+        RepositoryCallEvent.time(addAll, () -> {
+            delegate.addAll(tasks, projectId);
+            return tasks.size();
+        });
+    }
+
+    @Override
+    public boolean delete(Task task) throws SQLException {
+        return RepositoryCallEvent.time(delete, () -> delegate.delete(task));
+    }
+
+    @Override
+    public boolean deleteById(int id) throws SQLException {
+        return RepositoryCallEvent.time(deleteById, () -> delegate.deleteById(id));
+    }
+
+    @Override
+    public boolean update(Task task) throws SQLException {
+        return RepositoryCallEvent.time(update, () -> delegate.update(task));
+    }
+
+    @Override
+    public boolean updateById(Task task) throws SQLException {
+        return RepositoryCallEvent.time(updateById, () -> delegate.updateById(task));
+    }
+
+    @Override
+    public List<Task> getAll() throws SQLException {
+        return RepositoryCallEvent.time(getAll, delegate::getAll);
+    }
+
+    @Override
+    public Stream<Task> streamAll() throws SQLException {
+        return RepositoryCallEvent.time(streamAll, delegate::streamAll);
+    }
+
+    @Override
+    public Task findByName(String name) throws SQLException {
+        return RepositoryCallEvent.time(findByName, () -> delegate.findByName(name));
+    }
+
+    @Override
+    public Task findById(int id) throws SQLException {
+        return RepositoryCallEvent.time(findById, () -> delegate.findById(id));
+    }
+
+    @Override
+    public List<Task> findByStatus(TaskStatus status) throws SQLException {
+        return RepositoryCallEvent.time(findByStatus, () -> delegate.findByStatus(status));
+    }
+
+    @Override
+    public List<Task> findByProjectId(int projectId) throws SQLException {
+        return RepositoryCallEvent.time(findByProjectId, () -> delegate.findByProjectId(projectId));
+    }
+
+    @Override
+    public Stream<Task> streamByStatus(TaskStatus status) throws SQLException {
+        return RepositoryCallEvent.time(streamByStatus, () -> delegate.streamByStatus(status));
+    }
+
+    @Override
+    public Stream<TaskWithProject> streamAllWithProject() throws SQLException {
+        return RepositoryCallEvent.time(streamAllWithProject, delegate::streamAllWithProject);
+    }
+
+    @Override
+    public Stream<TaskWithProject> streamByStatusWithProject(TaskStatus status) throws SQLException {
+        return RepositoryCallEvent.time(streamByStatusWithProject, () -> delegate.streamByStatusWithProject(status));
+    }
+
+    @Override
+    public Map<TaskStatus, Long> countByStatus() throws SQLException {
+        return RepositoryCallEvent.time(countByStatus, delegate::countByStatus);
+    }
+}
@@ -0,0 +1,152 @@
+package com.project.metrics;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import com.project.entity.Project;
+import com.project.entity.Task;
+import com.project.entity.TaskWithProject;
+import com.project.enums.TaskPriority;
+import com.project.enums.TaskStatus;
+import com.project.exceptions.BusinessException;
+import com.project.exceptions.DuplicateTaskException;
+import com.project.interfaces.ITaskRepository;
+import com.project.services.AsyncExecutor;
+import com.project.services.TaskService;
+
+/**
+ * TaskService dont chaque méthode est mesurée sous le nom {@code TaskService.<méthode>}.
+ * Les variantes *Async appellent les méthodes synchrones et sont donc mesurées à travers elles.
+ */
+public class InstrumentedTaskService extends TaskService {
+
+    private final MethodTimer createTask;
+    private final MethodTimer addTasks;
+    private final MethodTimer addTaskToProject;
+    private final MethodTimer getAllTasks;
+    private final MethodTimer streamAllTasks;
+    private final MethodTimer streamAllTasksWithProject;
+    private final MethodTimer countTasksByStatus;
+    private final MethodTimer findByName;
+    private final MethodTimer findById;
+    private final MethodTimer updateTask;
+    private final MethodTimer updateTaskWithRetry;
+    private final MethodTimer deleteTask;
+    private final MethodTimer getTasksByStatus;
+    private final MethodTimer getTasksByProject;
+    private final MethodTimer streamTasksByStatus;
+    private final MethodTimer streamTasksByStatusWithProject;
+
+    public InstrumentedTaskService(ITaskRepository taskRepository, AsyncExecutor async, MetricsRegistry metrics) {
+        super(taskRepository, async);
+        this.createTask = metrics.timer("TaskService.createTask");
+        this.addTasks = metrics.timer("TaskService.addTasks");
+        this.addTaskToProject = metrics.timer("TaskService.addTaskToProject");
+        this.getAllTasks = metrics.timer("TaskService.getAllTasks");
+        this.streamAllTasks = metrics.timer("TaskService.streamAllTasks");
+        this.streamAllTasksWithProject = metrics.timer("TaskService.streamAllTasksWithProject");
+        this.countTasksByStatus = metrics.timer("TaskService.countTasksByStatus");
+        this.findByName = metrics.timer("TaskService.findByName");
+        this.findById = metrics.timer("TaskService.findById");
+        this.updateTask = metrics.timer("TaskService.updateTask");
+        this.updateTaskWithRetry = metrics.timer("TaskService.updateTaskWithRetry");
+        this.deleteTask = metrics.timer("TaskService.deleteTask");
+        this.getTasksByStatus = metrics.timer("TaskService.getTasksByStatus");
+        this.getTasksByProject = metrics.timer("TaskService.getTasksByProject");
+        this.streamTasksByStatus = metrics.timer("TaskService.streamTasksByStatus");
+        this.streamTasksByStatusWithProject = metrics.timer("TaskService.streamTasksByStatusWithProject");
+    }
+
+    @Override
+    public Task createTask(String name, String description, LocalDate dueDate, TaskStatus status,
+            TaskPriority priority) throws BusinessException, SQLException {
+        return createTask.time(() -> super.createTask(name, description, dueDate, status, priority));
+    }
+
+    @Override
+    public void addTasks(Collection<Task> tasks, int projectId, String projectName)
+            throws DuplicateTaskException, SQLException {
+        addTasks.time(() -> {
+            super.addTasks(tasks, projectId, projectName);
+            return null;
+        });
+    }
+
+    @Override
+    public void addTaskToProject(Task task, Project project) throws BusinessException, SQLException {
+        addTaskToProject.time(() -> {
+            super.addTaskToProject(task, project);
+            return null;
+        });
+    }
+
+    @Override
+    public List<Task> getAllTasks() throws BusinessException {
+        return getAllTasks.time(super::getAllTasks);
+    }
+
+    @Override
+    public Stream<Task> streamAllTasks() throws BusinessException {
+        return streamAllTasks.time(super::streamAllTasks);
+    }
+
+    @Override
+    public Stream<TaskWithProject> streamAllTasksWithProject() throws BusinessException {
+        return streamAllTasksWithProject.time(super::streamAllTasksWithProject);
+    }
+
+    @Override
+    public Map<TaskStatus, Long> countTasksByStatus() throws BusinessException {
+        return countTasksByStatus.time(super::countTasksByStatus);
+    }
+
+    @Override
+    public Task findByName(String name) throws BusinessException {
+        return findByName.time(() -> super.findByName(name));
+    }
+
+    @Override
+    public Task findById(int id) throws BusinessException {
+        return findById.time(() -> super.findById(id));
+    }
+
+    @Override
+    public boolean updateTask(Task task) throws BusinessException {
+        return updateTask.time(() -> super.updateTask(task));
+    }
+
+    @Override
+    public Task updateTask(String name, Consumer<Task> changes) throws BusinessException {
+        return updateTaskWithRetry.time(() -> super.updateTask(name, changes));
+    }
+
+    @Override
+    public boolean deleteTask(Task task) throws BusinessException {
+        return deleteTask.time(() -> super.deleteTask(task));
+    }
+
+    @Override
+    public List<Task> getTasksByStatus(TaskStatus status) throws BusinessException {
+        return getTasksByStatus.time(() -> super.getTasksByStatus(status));
+    }
+
+    @Override
+    public List<Task> getTasksByProject(Project project) throws BusinessException {
+        return getTasksByProject.time(() -> super.getTasksByProject(project));
+    }
+
+    @Override
+    public Stream<Task> streamTasksByStatus(TaskStatus status) throws BusinessException {
+        return streamTasksByStatus.time(() -> super.streamTasksByStatus(status));
+    }
+
+    @Override
+    public Stream<TaskWithProject> streamTasksByStatusWithProject(TaskStatus status) throws BusinessException {
+        return streamTasksByStatusWithProject.time(() -> super.streamTasksByStatusWithProject(status));
+    }
+}
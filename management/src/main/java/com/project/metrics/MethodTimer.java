@@ -0,0 +1,86 @@
+package com.project.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Nombre d'appels, nombre d'erreurs et latences d'une méthode.
+ */
+public class MethodTimer implements MethodTimerMBean {
+
+    /**
+     * Appel mesuré ; {@code E} est l'exception vérifiée qu'il peut lever.
+     */
+    @FunctionalInterface
+    public interface Call<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    private final String name;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+
+    public MethodTimer(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Exécute et mesure {@code call}. Une exception est comptée comme erreur puis relancée.
+     */
+    public <T, E extends Exception> T time(Call<T, E> call) throws E {
+        long start = System.nanoTime();
+        try {
+            T result = call.call();
+            latencies.record(System.nanoTime() - start);
+            return result;
+        } catch (Throwable t) {
+            latencies.record(System.nanoTime() - start);
+            errors.increment();
+            throw t;
+        }
+    }
+
+    public void record(long nanos, boolean failed) {
+        latencies.record(nanos);
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    public LatencyHistogram.Snapshot snapshot() {
+        return latencies.snapshot();
+    }
+
+    @Override
+    public long getCalls() {
+        return latencies.snapshot().getCount();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public double getP50Micros() {
+        return latencies.snapshot().getValueAtPercentile(50) / 1_000.0;
+    }
+
+    @Override
+    public double getP99Micros() {
+        return latencies.snapshot().getValueAtPercentile(99) / 1_000.0;
+    }
+
+    @Override
+    public double getP999Micros() {
+        return latencies.snapshot().getValueAtPercentile(99.9) / 1_000.0;
+    }
+
+    @Override
+    public double getMaxMicros() {
+        return latencies.snapshot().getMax() / 1_000.0;
+    }
+}
@@ -0,0 +1,19 @@
+package com.project.metrics;
+
+/**
+ * Vue JMX d'un {@link MethodTimer} ; les latences sont en microsecondes.
+ */
+public interface MethodTimerMBean {
+
+    long getCalls();
+
+    long getErrors();
+
+    double getP50Micros();
+
+    double getP99Micros();
+
+    double getP999Micros();
+
+    double getMaxMicros();
+}
@@ -0,0 +1,275 @@
+package com.project.metrics;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.project.entity.ConnectionPool;
+import com.project.entity.QueryTracer;
+import com.project.entity.TaskSnapshot;
+import com.project.repository.EntityCache;
+import com.project.services.AsyncExecutor;
+import com.project.services.TaskStore;
+
+/**
+ * Registre des mesures de l'application : un {@link MethodTimer} par méthode de dépôt
+ * ou de service, et des jauges lues à la demande (pool, caches, exécuteur asynchrone).
+ *
+ * Les mesures sont publiées en MBeans sous le domaine {@code com.project} et peuvent
+ * être écrites périodiquement sous forme de texte.
+ */
+public class MetricsRegistry {
+
+    private static final String DOMAIN = "com.project";
+
+    private final Map<String, MethodTimer> timers = new ConcurrentSkipListMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentSkipListMap<>();
+    private final List<Supplier<String>> reports = new CopyOnWriteArrayList<>();
+    private MBeanServer mbeanServer;
+    private ScheduledExecutorService reporter;
+
+    /**
+     * @return le compteur de la méthode {@code name}, créé au premier appel
+     */
+    public MethodTimer timer(String name) {
+        MethodTimer timer = timers.get(name);
+        if (timer != null) {
+            return timer;
+        }
+        synchronized (this) {
+            timer = timers.computeIfAbsent(name, MethodTimer::new);
+            if (mbeanServer != null) {
+                register(timer);
+            }
+            return timer;
+        }
+    }
+
+    public void gauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    /**
+     * Ajoute un rapport texte à la suite de {@link #dump()}.
+     */
+    public void report(Supplier<String> report) {
+        reports.add(report);
+    }
+
+    public void registerPool(ConnectionPool pool) {
+        gauge("pool.active", pool::getActiveCount);
+        gauge("pool.idle", pool::getIdleCount);
+        gauge("pool.waiting", pool::getWaitingCount);
+        gauge("pool.created", pool::getCreatedCount);
+        gauge("pool.destroyed", pool::getDestroyedCount);
+        gauge("pool.borrows", pool::getBorrowCount);
+        gauge("pool.timeouts", pool::getTimeoutCount);
+        gauge("pool.waitMillis", pool::getTotalWaitMillis);
+        gauge("pool.statementHits", pool::getStatementCacheHits);
+        gauge("pool.statementMisses", pool::getStatementCacheMisses);
+    }
+
+    public void registerCache(String name, EntityCache<?> cache) {
+        gauge(name + ".size", cache::size);
+        gauge(name + ".hits", cache::getHitCount);
+        gauge(name + ".misses", cache::getMissCount);
+        gauge(name + ".evictions", cache::getEvictionCount);
+    }
+
+    public void registerAsync(AsyncExecutor async) {
+        gauge("async.active", async::getActiveCount);
+        gauge("async.waiting", async::getWaitingCount);
+    }
+
+    /**
+     * Publie la version et la taille du magasin de tâches, et ajoute au texte le nombre
+     * de tâches par statut, lu dans son instantané courant plutôt qu'en base.
+     */
+    public void registerTaskStore(TaskStore store) {
+        gauge("taskStore.version", store::getVersion);
+        gauge("taskStore.size", () -> store.snapshot().size());
+        report(() -> {
+            TaskSnapshot snapshot = store.snapshot();
+            StringBuilder sb = new StringBuilder("Tâches (instantané ").append(snapshot.getVersion()).append(") :");
+            snapshot.countByStatus().forEach((status, count) -> sb.append(' ').append(status).append('=').append(count));
+            return sb.append('\n').toString();
+        });
+    }
+
+    /**
+     * Publie le nombre d'ordres SQL et de requêtes lentes, et ajoute au texte
+     * les {@code top} modèles de requête les plus coûteux.
+     */
+    public void registerTracer(QueryTracer tracer, int top) {
+        gauge("sql.statements", tracer::getStatementCount);
+        gauge("sql.slow", tracer::getSlowCount);
+        report(() -> tracer.summary(top));
+    }
+
+    // ==================== PUBLICATION ====================
+
+    /**
+     * Publie chaque méthode ({@code com.project:type=Method,name=...}) et l'ensemble
+     * des jauges ({@code com.project:type=Gauges}) sur le serveur MBean de la plateforme.
+     * Les méthodes mesurées par la suite sont publiées à leur création.
+     */
+    public synchronized void registerMBeans() throws JMException {
+        if (mbeanServer != null) {
+            return;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName gaugesName = new ObjectName(DOMAIN + ":type=Gauges");
+        if (server.isRegistered(gaugesName)) {
+            server.unregisterMBean(gaugesName);
+        }
+        server.registerMBean(new GaugeSet(), gaugesName);
+        mbeanServer = server;
+        for (MethodTimer timer : timers.values()) {
+            register(timer);
+        }
+    }
+
+    private void register(MethodTimer timer) {
+        try {
+            ObjectName name = new ObjectName(DOMAIN + ":type=Method,name=" + ObjectName.quote(timer.getName()));
+            if (mbeanServer.isRegistered(name)) {
+                mbeanServer.unregisterMBean(name);
+            }
+            mbeanServer.registerMBean(timer, name);
+        } catch (JMException e) {
+            // La mesure reste disponible dans le texte même si JMX la refuse
+            System.err.println("⚠️ MBean non publié pour " + timer.getName() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Écrit {@link #dump()} dans {@code out} toutes les {@code period}, sur un thread démon.
+     */
+    public synchronized void startReporter(Duration period, PrintStream out) {
+        if (reporter != null) {
+            return;
+        }
+        reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = period.toMillis();
+        reporter.scheduleAtFixedRate(() -> {
+            out.print(dump());
+            out.flush();
+        }, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stopReporter() {
+        if (reporter != null) {
+            reporter.shutdownNow();
+            reporter = null;
+        }
+    }
+
+    // ==================== TEXTE ====================
+
+    /**
+     * @return un tableau des méthodes appelées au moins une fois, latences en microsecondes,
+     *         suivi des jauges et des rapports ajoutés
+     */
+    public String dump() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== Métriques ")
+                .append(LocalDateTime.now().withNano(0))
+                .append(" ===\n");
+        sb.append(String.format("%-45s %10s %8s %10s %10s %10s %10s%n",
+                "Méthode", "Appels", "Erreurs", "p50", "p99", "p99.9", "max"));
+        for (MethodTimer timer : timers.values()) {
+            LatencyHistogram.Snapshot snapshot = timer.snapshot();
+            if (snapshot.getCount() == 0) {
+                continue;
+            }
+            sb.append(String.format("%-45s %10d %8d %10.1f %10.1f %10.1f %10.1f%n",
+                    timer.getName(), snapshot.getCount(), timer.getErrors(),
+                    snapshot.getValueAtPercentile(50) / 1_000.0,
+                    snapshot.getValueAtPercentile(99) / 1_000.0,
+                    snapshot.getValueAtPercentile(99.9) / 1_000.0,
+                    snapshot.getMax() / 1_000.0));
+        }
+        for (Map.Entry<String, LongSupplier> gauge : gauges.entrySet()) {
+            sb.append(String.format("%-45s %10d%n", gauge.getKey(), gauge.getValue().getAsLong()));
+        }
+        for (Supplier<String> report : reports) {
+            sb.append(report.get());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Jauges publiées comme attributs en lecture seule d'un seul MBean.
+     */
+    private final class GaugeSet implements DynamicMBean {
+
+        @Override
+        public Object getAttribute(String attribute) throws AttributeNotFoundException {
+            LongSupplier gauge = gauges.get(attribute);
+            if (gauge == null) {
+                throw new AttributeNotFoundException(attribute);
+            }
+            return gauge.getAsLong();
+        }
+
+        @Override
+        public AttributeList getAttributes(String[] attributes) {
+            AttributeList list = new AttributeList();
+            for (String attribute : attributes) {
+                LongSupplier gauge = gauges.get(attribute);
+                if (gauge != null) {
+                    list.add(new Attribute(attribute, gauge.getAsLong()));
+                }
+            }
+            return list;
+        }
+
+        @Override
+        public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+            throw new AttributeNotFoundException("Jauge en lecture seule : " + attribute.getName());
+        }
+
+        @Override
+        public AttributeList setAttributes(AttributeList attributes) {
+            return new AttributeList();
+        }
+
+        @Override
+        public Object invoke(String actionName, Object[] params, String[] signature) {
+            throw new UnsupportedOperationException(actionName);
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            MBeanAttributeInfo[] attributes = gauges.keySet().stream()
+                    .map(name -> new MBeanAttributeInfo(name, "long", name, true, false, false))
+                    .toArray(MBeanAttributeInfo[]::new);
+            return new MBeanInfo(MetricsRegistry.class.getName(), "Jauges de l'application",
+                    attributes, null, null, null);
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package com.project.repository;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.project.entity.Project;
+import com.project.entity.ProjectStatistics;
+import com.project.enums.ProjectStatus;
+import com.project.exceptions.DuplicateProjectException;
+import com.project.exceptions.DuplicateTaskException;
+import com.project.interfaces.IProjectRepository;
+import com.project.util.IntHashMap;
+
+/**
+ * Décorateur qui garde en cache les projets lus par nom.
+ * Les écritures passent toujours par le dépôt délégué puis mettent le cache à jour.
+ * Le nom de chaque entrée est aussi retenu par identifiant, pour que findById
+ * réponde depuis le cache.
+ *
+ * Les agrégats de {@link #getStatistics()} sont chargés une fois puis ajustés à chaque
+ * écriture, d'après l'état enregistré avant celle-ci. Ils sont rechargés à l'expiration
+ * de la durée de vie du cache, hors de tout verrou ; un rechargement qu'une écriture
+ * a chevauché n'est pas conservé.
+ */
+public class CachingProjectRepository implements IProjectRepository {
+
+    private final IProjectRepository delegate;
+    private final EntityCache<Project> cache;
+    // Nom par identifiant des entrées mises en cache ; vidé au-delà de maxNames
+    private final IntHashMap<String> names = new IntHashMap<>();
+    private final int maxNames;
+    private final long statisticsTtlNanos;
+
+    // Verrou des agrégats, distinct de celui de names : jamais tenu pendant un appel au dépôt
+    private final Object statisticsLock = new Object();
+    // Agrégats maintenus : null tant qu'ils ne sont pas (re)chargés
+    private long[] countByStatus;
+    private double progressionSum;
+    private long statisticsLoadedAt;
+    // Incrémentée au début et à la fin de chaque écriture ; writesInProgress compte les écritures en cours
+    private long statisticsGeneration;
+    private int writesInProgress;
+
+    public CachingProjectRepository(IProjectRepository delegate) {
+        this(delegate,
+                Integer.getInteger("cache.size", 10_000),
+                Duration.ofSeconds(Long.getLong("cache.ttlSeconds", 300)));
+    }
+
+    public CachingProjectRepository(IProjectRepository delegate, int maxSize, Duration ttl) {
+        this.delegate = delegate;
+        this.cache = new EntityCache<>(maxSize, ttl);
+        this.maxNames = 2 * maxSize;
+        this.statisticsTtlNanos = ttl.toNanos();
+    }
+
+    public EntityCache<Project> getCache() {
+        return cache;
+    }
+
+    @Override
+    public Project create(String name, String description) {
+        return delegate.create(name, description);
+    }
+
+    @Override
+    public void add(Project project) throws DuplicateProjectException, SQLException {
+        beginWrite();
+        boolean added = false;
+        try {
+            delegate.add(project);
+            added = true;
+            cache(project);
+        } finally {
+            endWrite(null, added ? project : null);
+        }
+    }
+
+    @Override
+    public void addAll(Collection<Project> projects) throws DuplicateProjectException, SQLException {
+        beginWrite();
+        try {
+            delegate.addAll(projects);
+            projects.forEach(this::cache);
+            endWrite(projects);
+        } catch (SQLException | RuntimeException e) {
+            // On ne sait pas quelles lignes ont été insérées : on ne garde rien
+            projects.forEach(p -> cache.invalidate(p.getName()));
+            endWriteUnknown();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean delete(Project project) throws DuplicateTaskException, SQLException {
+        // Relu plutôt que pris en cache : la progression en mémoire suit les tâches, pas la base
+        Project stored = delegate.findByName(project.getName());
+        beginWrite();
+        boolean deleted = false;
+        try {
+            deleted = delegate.delete(project);
+            return deleted;
+        } finally {
+            cache.invalidate(project.getName());
+            endWrite(deleted ? stored : null, null);
+        }
+    }
+
+    @Override
+    public boolean deleteById(int id) throws SQLException {
+        Project stored = delegate.findById(id);
+        beginWrite();
+        boolean deleted = false;
+        try {
+            deleted = delegate.deleteById(id);
+            return deleted;
+        } finally {
+            if (stored != null) {
+                cache.invalidate(stored.getName());
+            }
+            forgetName(id);
+            endWrite(deleted ? stored : null, null);
+        }
+    }
+
+    @Override
+    public boolean update(Project project) throws SQLException {
+        return update(project, false);
+    }
+
+    @Override
+    public boolean updateById(Project project) throws SQLException {
+        return update(project, true);
+    }
+
+    private boolean update(Project project, boolean byId) throws SQLException {
+        // Le compare-and-set garantit que c'est bien ce statut qui est remplacé
+        ProjectStatus before = storedStatus(project, byId);
+        beginWrite();
+        boolean updated = false;
+        try {
+            updated = byId ? delegate.updateById(project) : delegate.update(project);
+            return updated;
+        } finally {
+            if (updated) {
+                cache(project);
+                if (before != null) {
+                    // La progression n'est pas enregistrée par une mise à jour : seul le statut change
+                    endStatusChange(before, project.getStatus());
+                } else {
+                    // Ligne créée entre la relecture et l'écriture
+                    endWriteUnknown();
+                }
+            } else {
+                cache.invalidate(project.getName());
+                endWrite(null, null);
+            }
+        }
+    }
+
+    @Override
+    public List<Project> getAll() throws SQLException {
+        return delegate.getAll();
+    }
+
+    @Override
+    public Stream<Project> streamAll() throws SQLException {
+        return delegate.streamAll();
+    }
+
+    @Override
+    public Project findByName(String name) {
+        Project project = cache.get(name);
+        if (project == null) {
+            project = delegate.findByName(name);
+            if (project != null) {
+                cache(project);
+            }
+        }
+        return project;
+    }
+
+    @Override
+    public Project findById(int id) throws SQLException {
+        String name = nameOf(id);
+        Project project = name != null ? cache.get(name) : null;
+        if (project == null || project.getId() != id) {
+            project = delegate.findById(id);
+            if (project != null) {
+                cache(project);
+            }
+        }
+        return project;
+    }
+
+    @Override
+    public List<Project> findByStatus(ProjectStatus status) throws SQLException {
+        return delegate.findByStatus(status);
+    }
+
+    @Override
+    public ProjectStatistics getStatistics() throws SQLException {
+        long generation;
+        synchronized (statisticsLock) {
+            if (countByStatus != null && System.nanoTime() - statisticsLoadedAt <= statisticsTtlNanos) {
+                return statistics(countByStatus, progressionSum);
+            }
+            // Une écriture en cours peut figurer ou non dans la requête : rien à publier dans ce cas
+            generation = writesInProgress == 0 ? statisticsGeneration : -1;
+        }
+        ProjectStatistics loaded = delegate.getStatistics();
+        long[] counts = new long[ProjectStatus.values().length];
+        for (ProjectStatus status : ProjectStatus.values()) {
+            counts[status.ordinal()] = loaded.getCount(status);
+        }
+        synchronized (statisticsLock) {
+            // Aucune écriture n'a commencé ni fini pendant la requête : ses agrégats sont exacts
+            if (generation == statisticsGeneration) {
+                countByStatus = counts;
+                progressionSum = loaded.getAverageProgression() * loaded.getTotal();
+                statisticsLoadedAt = System.nanoTime();
+            }
+        }
+        return loaded;
+    }
+
+    private static ProjectStatistics statistics(long[] countByStatus, double progressionSum) {
+        Map<ProjectStatus, Long> counts = new EnumMap<>(ProjectStatus.class);
+        for (ProjectStatus status : ProjectStatus.values()) {
+            counts.put(status, countByStatus[status.ordinal()]);
+        }
+        return new ProjectStatistics(counts, progressionSum);
+    }
+
+    /**
+     * @return le statut enregistré du projet avant une écriture : celui de l'entrée en cache si
+     *         elle est à la même version, sinon celui relu depuis le dépôt délégué (null s'il n'existe pas)
+     */
+    private ProjectStatus storedStatus(Project project, boolean byId) throws SQLException {
+        Project cached = byId ? cachedById(project.getId()) : cache.peek(project.getName());
+        // Si l'appelant a modifié l'instance en cache elle-même, elle ne dit plus rien de l'état enregistré
+        if (cached == null || cached == project || cached.getVersion() != project.getVersion()) {
+            cached = byId ? delegate.findById(project.getId()) : delegate.findByName(project.getName());
+        }
+        return cached != null ? cached.getStatus() : null;
+    }
+
+    private Project cachedById(int id) {
+        String name = nameOf(id);
+        Project project = name != null ? cache.peek(name) : null;
+        return project != null && project.getId() == id ? project : null;
+    }
+
+    private void cache(Project project) {
+        cache.put(project.getName(), project);
+        rememberName(project.getId(), project.getName());
+    }
+
+    private synchronized void rememberName(int id, String name) {
+        if (id == 0) {
+            return;
+        }
+        if (names.size() >= maxNames) {
+            // Simple accélérateur : deleteById relit le nom s'il a été oublié
+            names.clear();
+        }
+        names.put(id, name);
+    }
+
+    private synchronized String nameOf(int id) {
+        return names.get(id);
+    }
+
+    private synchronized void forgetName(int id) {
+        names.remove(id);
+    }
+
+    private void beginWrite() {
+        synchronized (statisticsLock) {
+            writesInProgress++;
+            statisticsGeneration++;
+        }
+    }
+
+    /**
+     * Termine une écriture : le projet enregistré {@code removed} sort des agrégats et
+     * {@code added} y entre (null : aucun).
+     */
+    private void endWrite(Project removed, Project added) {
+        synchronized (statisticsLock) {
+            if (countByStatus != null) {
+                if (removed != null) {
+                    countByStatus[removed.getStatus().ordinal()]--;
+                    progressionSum -= removed.getProgression();
+                }
+                if (added != null) {
+                    countByStatus[added.getStatus().ordinal()]++;
+                    progressionSum += added.getProgression();
+                }
+            }
+            endWriteLocked();
+        }
+    }
+
+    /**
+     * Termine une mise à jour : un projet passe du statut {@code from} au statut {@code to}.
+     */
+    private void endStatusChange(ProjectStatus from, ProjectStatus to) {
+        synchronized (statisticsLock) {
+            if (countByStatus != null) {
+                countByStatus[from.ordinal()]--;
+                countByStatus[to.ordinal()]++;
+            }
+            endWriteLocked();
+        }
+    }
+
+    private void endWrite(Collection<Project> added) {
+        synchronized (statisticsLock) {
+            if (countByStatus != null) {
+                for (Project project : added) {
+                    countByStatus[project.getStatus().ordinal()]++;
+                    progressionSum += project.getProgression();
+                }
+            }
+            endWriteLocked();
+        }
+    }
+
+    /**
+     * Termine une écriture dont l'effet sur les agrégats n'est pas connu : ils seront rechargés.
+     */
+    private void endWriteUnknown() {
+        synchronized (statisticsLock) {
+            countByStatus = null;
+            endWriteLocked();
+        }
+    }
+
+    private void endWriteLocked() {
+        writesInProgress--;
+        statisticsGeneration++;
+    }
+}
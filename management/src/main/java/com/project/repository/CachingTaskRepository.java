@@ -0,0 +1,353 @@
+package com.project.repository;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.project.entity.Task;
+import com.project.entity.TaskWithProject;
+import com.project.enums.TaskPriority;
+import com.project.enums.TaskStatus;
+import com.project.exceptions.DuplicateTaskException;
+import com.project.interfaces.ITaskRepository;
+import com.project.util.IntHashMap;
+
+/**
+ * Décorateur qui garde en cache les tâches lues par nom.
+ * Les écritures passent toujours par le dépôt délégué puis mettent le cache à jour.
+ * Le nom de chaque entrée est aussi retenu par identifiant, pour que findById
+ * réponde depuis le cache.
+ *
+ * Les compteurs de {@link #countByStatus()} sont chargés une fois puis ajustés à chaque
+ * écriture, d'après l'état enregistré avant celle-ci (l'entrée en cache, sinon relue).
+ * Ils sont rechargés à l'expiration de la durée de vie du cache, hors de tout verrou ;
+ * un rechargement qu'une écriture a chevauché n'est pas conservé.
+ */
+public class CachingTaskRepository implements ITaskRepository {
+
+    private final ITaskRepository delegate;
+    private final EntityCache<Task> cache;
+    // Nom par identifiant des entrées mises en cache ; vidé au-delà de maxNames
+    private final IntHashMap<String> names = new IntHashMap<>();
+    private final int maxNames;
+    private final long statisticsTtlNanos;
+
+    // Verrou des compteurs, distinct de celui de names : jamais tenu pendant un appel au dépôt
+    private final Object statisticsLock = new Object();
+    // Compteurs maintenus : null tant qu'ils ne sont pas (re)chargés
+    private long[] countByStatus;
+    private long statisticsLoadedAt;
+    // Incrémentée au début et à la fin de chaque écriture ; writesInProgress compte les écritures en cours
+    private long statisticsGeneration;
+    private int writesInProgress;
+
+    public CachingTaskRepository(ITaskRepository delegate) {
+        this(delegate,
+                Integer.getInteger("cache.size", 10_000),
+                Duration.ofSeconds(Long.getLong("cache.ttlSeconds", 300)));
+    }
+
+    public CachingTaskRepository(ITaskRepository delegate, int maxSize, Duration ttl) {
+        this.delegate = delegate;
+        this.cache = new EntityCache<>(maxSize, ttl);
+        this.maxNames = 2 * maxSize;
+        this.statisticsTtlNanos = ttl.toNanos();
+    }
+
+    public EntityCache<Task> getCache() {
+        return cache;
+    }
+
+    @Override
+    public Task create(String name, String description, LocalDate dueDate, TaskStatus taskStatus,
+            TaskPriority taskPriority) {
+        return delegate.create(name, description, dueDate, taskStatus, taskPriority);
+    }
+
+    @Override
+    public void add(Task task, int projectId) throws DuplicateTaskException, SQLException {
+        beginWrite();
+        boolean added = false;
+        try {
+            delegate.add(task, projectId);
+            added = true;
+            cache(task);
+        } finally {
+            endWrite(null, added ? task.getStatus() : null);
+        }
+    }
+
+    @Override
+    public void addAll(Collection<Task> tasks, int projectId) throws DuplicateTaskException, SQLException {
+        beginWrite();
+        try {
+            delegate.addAll(tasks, projectId);
+            tasks.forEach(this::cache);
+            endWrite(tasks);
+        } catch (SQLException | RuntimeException e) {
+            // On ne sait pas quelles lignes ont été insérées : on ne garde rien
+            tasks.forEach(t -> cache.invalidate(t.getName()));
+            endWriteUnknown();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean delete(Task task) throws SQLException {
+        Task stored = stored(task, false);
+        beginWrite();
+        boolean deleted = false;
+        try {
+            deleted = delegate.delete(task);
+            return deleted;
+        } finally {
+            cache.invalidate(task.getName());
+            endWrite(deleted && stored != null ? stored.getStatus() : null, null);
+        }
+    }
+
+    @Override
+    public boolean deleteById(int id) throws SQLException {
+        Task stored = cachedById(id);
+        if (stored == null) {
+            // Jamais passé par le cache, ou oublié : on le relit pour invalider l'entrée et décompter son statut
+            stored = delegate.findById(id);
+        }
+        beginWrite();
+        boolean deleted = false;
+        try {
+            deleted = delegate.deleteById(id);
+            return deleted;
+        } finally {
+            if (stored != null) {
+                cache.invalidate(stored.getName());
+            }
+            forgetName(id);
+            endWrite(deleted && stored != null ? stored.getStatus() : null, null);
+        }
+    }
+
+    @Override
+    public boolean update(Task task) throws SQLException {
+        return update(task, false);
+    }
+
+    @Override
+    public boolean updateById(Task task) throws SQLException {
+        return update(task, true);
+    }
+
+    private boolean update(Task task, boolean byId) throws SQLException {
+        // Le compare-and-set garantit que c'est bien cet état qui est remplacé
+        Task stored = stored(task, byId);
+        beginWrite();
+        boolean updated = false;
+        try {
+            updated = byId ? delegate.updateById(task) : delegate.update(task);
+            return updated;
+        } finally {
+            if (updated) {
+                cache(task);
+                if (stored != null) {
+                    endWrite(stored.getStatus(), task.getStatus());
+                } else {
+                    // Ligne créée entre la relecture et l'écriture
+                    endWriteUnknown();
+                }
+            } else {
+                cache.invalidate(task.getName());
+                endWrite(null, null);
+            }
+        }
+    }
+
+    @Override
+    public List<Task> getAll() throws SQLException {
+        return delegate.getAll();
+    }
+
+    @Override
+    public Stream<Task> streamAll() throws SQLException {
+        return delegate.streamAll();
+    }
+
+    @Override
+    public Task findByName(String name) throws SQLException {
+        Task task = cache.get(name);
+        if (task == null) {
+            task = delegate.findByName(name);
+            if (task != null) {
+                cache(task);
+            }
+        }
+        return task;
+    }
+
+    @Override
+    public Task findById(int id) throws SQLException {
+        String name = nameOf(id);
+        Task task = name != null ? cache.get(name) : null;
+        if (task == null || task.getId() != id) {
+            task = delegate.findById(id);
+            if (task != null) {
+                cache(task);
+            }
+        }
+        return task;
+    }
+
+    @Override
+    public List<Task> findByStatus(TaskStatus status) throws SQLException {
+        return delegate.findByStatus(status);
+    }
+
+    @Override
+    public List<Task> findByProjectId(int projectId) throws SQLException {
+        return delegate.findByProjectId(projectId);
+    }
+
+    @Override
+    public Stream<Task> streamByStatus(TaskStatus status) throws SQLException {
+        return delegate.streamByStatus(status);
+    }
+
+    @Override
+    public Stream<TaskWithProject> streamAllWithProject() throws SQLException {
+        return delegate.streamAllWithProject();
+    }
+
+    @Override
+    public Stream<TaskWithProject> streamByStatusWithProject(TaskStatus status) throws SQLException {
+        return delegate.streamByStatusWithProject(status);
+    }
+
+    @Override
+    public Map<TaskStatus, Long> countByStatus() throws SQLException {
+        long generation;
+        synchronized (statisticsLock) {
+            if (countByStatus != null && System.nanoTime() - statisticsLoadedAt <= statisticsTtlNanos) {
+                return toMap(countByStatus);
+            }
+            // Une écriture en cours peut figurer ou non dans la requête : rien à publier dans ce cas
+            generation = writesInProgress == 0 ? statisticsGeneration : -1;
+        }
+        Map<TaskStatus, Long> loaded = delegate.countByStatus();
+        long[] counts = new long[TaskStatus.values().length];
+        for (TaskStatus status : TaskStatus.values()) {
+            counts[status.ordinal()] = loaded.getOrDefault(status, 0L);
+        }
+        synchronized (statisticsLock) {
+            // Aucune écriture n'a commencé ni fini pendant la requête : ses compteurs sont exacts
+            if (generation == statisticsGeneration) {
+                countByStatus = counts;
+                statisticsLoadedAt = System.nanoTime();
+            }
+        }
+        return toMap(counts);
+    }
+
+    private static Map<TaskStatus, Long> toMap(long[] countByStatus) {
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            counts.put(status, countByStatus[status.ordinal()]);
+        }
+        return counts;
+    }
+
+    /**
+     * @return l'état enregistré de la tâche avant une écriture : l'entrée en cache si elle est
+     *         à la même version, sinon celui relu depuis le dépôt délégué (null si elle n'existe pas)
+     */
+    private Task stored(Task task, boolean byId) throws SQLException {
+        Task cached = byId ? cachedById(task.getId()) : cache.peek(task.getName());
+        // Si l'appelant a modifié l'instance en cache elle-même, elle ne dit plus rien de l'état enregistré
+        if (cached != null && cached != task && cached.getVersion() == task.getVersion()) {
+            return cached;
+        }
+        return byId ? delegate.findById(task.getId()) : delegate.findByName(task.getName());
+    }
+
+    private Task cachedById(int id) {
+        String name = nameOf(id);
+        Task task = name != null ? cache.peek(name) : null;
+        return task != null && task.getId() == id ? task : null;
+    }
+
+    private void cache(Task task) {
+        cache.put(task.getName(), task);
+        rememberName(task.getId(), task.getName());
+    }
+
+    private synchronized void rememberName(int id, String name) {
+        if (id == 0) {
+            return;
+        }
+        if (names.size() >= maxNames) {
+            // Simple accélérateur : deleteById relit le nom s'il a été oublié
+            names.clear();
+        }
+        names.put(id, name);
+    }
+
+    private synchronized String nameOf(int id) {
+        return names.get(id);
+    }
+
+    private synchronized void forgetName(int id) {
+        names.remove(id);
+    }
+
+    private void beginWrite() {
+        synchronized (statisticsLock) {
+            writesInProgress++;
+            statisticsGeneration++;
+        }
+    }
+
+    /**
+     * Termine une écriture : une tâche quitte le statut {@code removed} et entre dans le
+     * statut {@code added} (null : aucun).
+     */
+    private void endWrite(TaskStatus removed, TaskStatus added) {
+        synchronized (statisticsLock) {
+            if (countByStatus != null) {
+                if (removed != null) {
+                    countByStatus[removed.ordinal()]--;
+                }
+                if (added != null) {
+                    countByStatus[added.ordinal()]++;
+                }
+            }
+            endWriteLocked();
+        }
+    }
+
+    private void endWrite(Collection<Task> added) {
+        synchronized (statisticsLock) {
+            if (countByStatus != null) {
+                added.forEach(t -> countByStatus[t.getStatus().ordinal()]++);
+            }
+            endWriteLocked();
+        }
+    }
+
+    /**
+     * Termine une écriture dont l'effet sur les compteurs n'est pas connu : ils seront rechargés.
+     */
+    private void endWriteUnknown() {
+        synchronized (statisticsLock) {
+            countByStatus = null;
+            endWriteLocked();
+        }
+    }
+
+    private void endWriteLocked() {
+        writesInProgress--;
+        statisticsGeneration++;
+    }
+}
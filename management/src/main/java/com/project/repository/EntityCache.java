@@ -0,0 +1,111 @@
+package com.project.repository;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache LRU borné en taille et en durée de vie, utilisé par les dépôts en cache.
+ * Les compteurs de succès, d'échecs et d'évictions sont consultables à tout moment.
+ */
+public class EntityCache<V> {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LinkedHashMap<String, Entry<V>> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public EntityCache(int maxSize, Duration ttl) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("La taille du cache doit être positive");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+                if (size() > EntityCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @return la valeur en cache, ou null si elle est absente ou expirée
+     */
+    public synchronized V get(String key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (System.nanoTime() - entry.expiresAt > 0) {
+            entries.remove(key);
+            evictions.incrementAndGet();
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.value;
+    }
+
+    /**
+     * Comme {@link #get}, sans compter de succès ni d'échec : pour les consultations
+     * internes des dépôts, qui ne doivent pas fausser le taux de succès.
+     */
+    public synchronized V peek(String key) {
+        Entry<V> entry = entries.get(key);
+        return entry == null || System.nanoTime() - entry.expiresAt > 0 ? null : entry.value;
+    }
+
+    public synchronized void put(String key, V value) {
+        entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+    }
+
+    public synchronized void invalidate(String key) {
+        entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("EntityCache{taille=%d/%d, succès=%d, échecs=%d, évictions=%d}",
+                size(), maxSize, getHitCount(), getMissCount(), getEvictionCount());
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
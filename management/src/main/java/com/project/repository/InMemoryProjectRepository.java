@@ -0,0 +1,212 @@
+package com.project.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.project.entity.Project;
+import com.project.entity.ProjectStatistics;
+import com.project.enums.ProjectStatus;
+import com.project.exceptions.DuplicateProjectException;
+import com.project.exceptions.DuplicateTaskException;
+import com.project.exceptions.OptimisticLockException;
+import com.project.interfaces.IProjectRepository;
+import com.project.util.IntHashMap;
+
+/**
+ * Dépôt de projets entièrement en mémoire, sans base de données.
+ *
+ * Les projets sont indexés par nom, par identifiant et par statut : findByName et
+ * findById sont en O(1), findByStatus en O(taille du résultat). Chaque projet reçoit
+ * un identifiant séquentiel, comme le ferait la colonne auto-incrémentée de la table
+ * projets ; l'index par identifiant est une {@link IntHashMap}, sans Integer.
+ * Comme en base, une mise à jour n'est acceptée que si la version du projet
+ * est celle enregistrée ; elle l'incrémente.
+ */
+public class InMemoryProjectRepository implements IProjectRepository {
+
+    private final Map<String, Entry> byName = new LinkedHashMap<>();
+    private final IntHashMap<Entry> byId = new IntHashMap<>();
+    private final Map<ProjectStatus, Map<String, Project>> byStatus = new EnumMap<>(ProjectStatus.class);
+    private int nextId = 1;
+    // Somme des progressions enregistrées, pour la moyenne en O(1)
+    private double progressionSum;
+
+    public InMemoryProjectRepository() {
+        for (ProjectStatus status : ProjectStatus.values()) {
+            byStatus.put(status, new LinkedHashMap<>());
+        }
+    }
+
+    @Override
+    public Project create(String name, String description) {
+        return new Project(name, description);
+    }
+
+    @Override
+    public synchronized void add(Project project) throws DuplicateProjectException {
+        if (byName.containsKey(project.getName())) {
+            throw new DuplicateProjectException("Projet existe déjà: " + project.getName());
+        }
+        insert(project);
+    }
+
+    @Override
+    public synchronized void addAll(Collection<Project> projects) throws DuplicateProjectException {
+        List<String> duplicates = new ArrayList<>();
+        for (Project project : projects) {
+            if (byName.containsKey(project.getName())) {
+                duplicates.add(project.getName());
+            } else {
+                insert(project);
+            }
+        }
+        if (!duplicates.isEmpty()) {
+            throw new DuplicateProjectException("Projets existant déjà: " + String.join(", ", duplicates), duplicates);
+        }
+    }
+
+    private void insert(Project project) {
+        Entry entry = new Entry(nextId++, project);
+        project.setId(entry.id);
+        byName.put(project.getName(), entry);
+        byId.put(entry.id, entry);
+        byStatus.get(entry.status).put(project.getName(), project);
+        progressionSum += entry.progression;
+    }
+
+    @Override
+    public synchronized boolean delete(Project project) throws DuplicateTaskException {
+        Entry entry = byName.get(project.getName());
+        if (entry == null) {
+            return false;
+        }
+        remove(entry);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean deleteById(int id) {
+        Entry entry = byId.get(id);
+        if (entry == null) {
+            return false;
+        }
+        remove(entry);
+        return true;
+    }
+
+    private void remove(Entry entry) {
+        String name = entry.project.getName();
+        byName.remove(name);
+        byId.remove(entry.id);
+        byStatus.get(entry.status).remove(name);
+        progressionSum -= entry.progression;
+    }
+
+    @Override
+    public synchronized boolean update(Project project) {
+        return update(byName.get(project.getName()), project);
+    }
+
+    @Override
+    public synchronized boolean updateById(Project project) {
+        return update(byId.get(project.getId()), project);
+    }
+
+    private boolean update(Entry entry, Project project) {
+        if (entry == null) {
+            return false;
+        }
+        if (entry.version != project.getVersion()) {
+            throw new OptimisticLockException(project.getName(), project.getVersion(), entry.version);
+        }
+        project.setId(entry.id);
+        project.setVersion(++entry.version);
+        byStatus.get(entry.status).remove(project.getName());
+        progressionSum -= entry.progression;
+        entry.project = project;
+        entry.status = project.getStatus();
+        entry.progression = project.getProgression();
+        progressionSum += entry.progression;
+        byStatus.get(entry.status).put(project.getName(), project);
+        return true;
+    }
+
+    @Override
+    public synchronized List<Project> getAll() {
+        List<Project> projects = new ArrayList<>(byName.size());
+        for (Entry entry : byName.values()) {
+            projects.add(entry.project);
+        }
+        return projects;
+    }
+
+    /**
+     * Parcourt une copie de la liste des projets : le Stream n'est pas affecté par les écritures concurrentes.
+     */
+    @Override
+    public Stream<Project> streamAll() {
+        return getAll().stream();
+    }
+
+    @Override
+    public synchronized Project findByName(String name) {
+        Entry entry = byName.get(name);
+        return entry != null ? entry.project : null;
+    }
+
+    @Override
+    public synchronized Project findById(int id) {
+        Entry entry = byId.get(id);
+        return entry != null ? entry.project : null;
+    }
+
+    @Override
+    public synchronized List<Project> findByStatus(ProjectStatus status) {
+        return new ArrayList<>(byStatus.get(status).values());
+    }
+
+    @Override
+    public synchronized ProjectStatistics getStatistics() {
+        Map<ProjectStatus, Long> counts = new EnumMap<>(ProjectStatus.class);
+        byStatus.forEach((status, projects) -> counts.put(status, (long) projects.size()));
+        return new ProjectStatistics(counts, progressionSum);
+    }
+
+    /**
+     * @return l'identifiant attribué au projet, ou 0 s'il est inconnu
+     */
+    public synchronized int findIdByName(String name) {
+        Entry entry = byName.get(name);
+        return entry != null ? entry.id : 0;
+    }
+
+    /**
+     * @return le nom du projet portant cet identifiant, ou null s'il est inconnu
+     */
+    public synchronized String findNameById(int id) {
+        Entry entry = byId.get(id);
+        return entry != null ? entry.project.getName() : null;
+    }
+
+    private static final class Entry {
+        private final int id;
+        private Project project;
+        // Statut sous lequel le projet est indexé et progression enregistrée
+        private ProjectStatus status;
+        private double progression;
+        private int version;
+
+        private Entry(int id, Project project) {
+            this.id = id;
+            this.project = project;
+            this.status = project.getStatus();
+            this.progression = project.getProgression();
+            this.version = project.getVersion();
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.project.repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.project.entity.Task;
+import com.project.entity.TaskWithProject;
+import com.project.enums.TaskPriority;
+import com.project.enums.TaskStatus;
+import com.project.exceptions.DuplicateTaskException;
+import com.project.exceptions.OptimisticLockException;
+import com.project.interfaces.ITaskRepository;
+import com.project.util.IntHashMap;
+
+/**
+ * Dépôt de tâches entièrement en mémoire, sans base de données.
+ *
+ * Les tâches sont indexées par nom, par identifiant, par statut et par projet : findByName et
+ * findById sont en O(1), findByStatus et findByProjectId en O(taille du résultat). Les identifiants
+ * sont séquentiels, comme ceux de la table taches, et les noms de projets sont
+ * résolus via le {@link InMemoryProjectRepository} fourni à la construction.
+ */
+public class InMemoryTaskRepository implements ITaskRepository {
+
+    private final InMemoryProjectRepository projects;
+    private final Map<String, Entry> byName = new LinkedHashMap<>();
+    private final IntHashMap<Entry> byId = new IntHashMap<>();
+    private final Map<TaskStatus, Map<String, Task>> byStatus = new EnumMap<>(TaskStatus.class);
+    // Entrées par identifiant de projet (0 : sans projet), retirées quand le projet n'a plus de tâche
+    private final IntHashMap<Map<String, Entry>> byProject = new IntHashMap<>();
+    private int nextId = 1;
+
+    public InMemoryTaskRepository(InMemoryProjectRepository projects) {
+        this.projects = projects;
+        for (TaskStatus status : TaskStatus.values()) {
+            byStatus.put(status, new LinkedHashMap<>());
+        }
+    }
+
+    @Override
+    public Task create(String name, String description, LocalDate dueDate, TaskStatus taskStatus,
+            TaskPriority taskPriority) {
+        return new Task(name, description, dueDate, taskStatus, taskPriority);
+    }
+
+    @Override
+    public synchronized void add(Task task, int projectId) throws DuplicateTaskException {
+        if (byName.containsKey(task.getName())) {
+            throw new DuplicateTaskException("Tâche existe déjà: " + task.getName());
+        }
+        insert(task, projectId);
+    }
+
+    @Override
+    public synchronized void addAll(Collection<Task> tasks, int projectId) throws DuplicateTaskException {
+        List<String> duplicates = new ArrayList<>();
+        for (Task task : tasks) {
+            if (byName.containsKey(task.getName())) {
+                duplicates.add(task.getName());
+            } else {
+                insert(task, projectId);
+            }
+        }
+        if (!duplicates.isEmpty()) {
+            throw new DuplicateTaskException("Tâches existant déjà: " + String.join(", ", duplicates), duplicates);
+        }
+    }
+
+    private void insert(Task task, int projectId) {
+        Entry entry = new Entry(nextId++, task, projectId);
+        task.setId(entry.id);
+        task.setProjectId(projectId);
+        byName.put(task.getName(), entry);
+        byId.put(entry.id, entry);
+        byStatus.get(entry.status).put(task.getName(), task);
+        Map<String, Entry> projectTasks = byProject.get(projectId);
+        if (projectTasks == null) {
+            projectTasks = new LinkedHashMap<>();
+            byProject.put(projectId, projectTasks);
+        }
+        projectTasks.put(task.getName(), entry);
+    }
+
+    @Override
+    public synchronized boolean delete(Task task) {
+        Entry entry = byName.get(task.getName());
+        if (entry == null) {
+            return false;
+        }
+        remove(entry);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean deleteById(int id) {
+        Entry entry = byId.get(id);
+        if (entry == null) {
+            return false;
+        }
+        remove(entry);
+        return true;
+    }
+
+    private void remove(Entry entry) {
+        String name = entry.task.getName();
+        byName.remove(name);
+        byId.remove(entry.id);
+        byStatus.get(entry.status).remove(name);
+        Map<String, Entry> projectTasks = byProject.get(entry.projectId);
+        projectTasks.remove(name);
+        if (projectTasks.isEmpty()) {
+            byProject.remove(entry.projectId);
+        }
+    }
+
+    @Override
+    public synchronized boolean update(Task task) {
+        return update(byName.get(task.getName()), task);
+    }
+
+    @Override
+    public synchronized boolean updateById(Task task) {
+        return update(byId.get(task.getId()), task);
+    }
+
+    private boolean update(Entry entry, Task task) {
+        if (entry == null) {
+            return false;
+        }
+        if (entry.version != task.getVersion()) {
+            throw new OptimisticLockException(task.getName(), task.getVersion(), entry.version);
+        }
+        task.setId(entry.id);
+        task.setProjectId(entry.projectId);
+        task.setVersion(++entry.version);
+        byStatus.get(entry.status).remove(task.getName());
+        entry.task = task;
+        entry.status = task.getStatus();
+        byStatus.get(entry.status).put(task.getName(), task);
+        return true;
+    }
+
+    @Override
+    public synchronized List<Task> getAll() {
+        List<Task> tasks = new ArrayList<>(byName.size());
+        for (Entry entry : byName.values()) {
+            tasks.add(entry.task);
+        }
+        return tasks;
+    }
+
+    /**
+     * Parcourt une copie de la liste des tâches : le Stream n'est pas affecté par les écritures concurrentes.
+     */
+    @Override
+    public Stream<Task> streamAll() {
+        return getAll().stream();
+    }
+
+    @Override
+    public synchronized Task findByName(String name) {
+        Entry entry = byName.get(name);
+        return entry != null ? entry.task : null;
+    }
+
+    @Override
+    public synchronized Task findById(int id) {
+        Entry entry = byId.get(id);
+        return entry != null ? entry.task : null;
+    }
+
+    @Override
+    public synchronized List<Task> findByStatus(TaskStatus status) {
+        return new ArrayList<>(byStatus.get(status).values());
+    }
+
+    @Override
+    public synchronized List<Task> findByProjectId(int projectId) {
+        Map<String, Entry> projectTasks = byProject.get(projectId);
+        if (projectTasks == null) {
+            return new ArrayList<>();
+        }
+        List<Task> tasks = new ArrayList<>(projectTasks.size());
+        for (Entry entry : projectTasks.values()) {
+            tasks.add(entry.task);
+        }
+        return tasks;
+    }
+
+    @Override
+    public Stream<Task> streamByStatus(TaskStatus status) {
+        return findByStatus(status).stream();
+    }
+
+    @Override
+    public synchronized Stream<TaskWithProject> streamAllWithProject() {
+        return withProject(byName.values());
+    }
+
+    @Override
+    public synchronized Stream<TaskWithProject> streamByStatusWithProject(TaskStatus status) {
+        List<Entry> entries = new ArrayList<>();
+        for (Task task : byStatus.get(status).values()) {
+            entries.add(byName.get(task.getName()));
+        }
+        return withProject(entries);
+    }
+
+    @Override
+    public synchronized Map<TaskStatus, Long> countByStatus() {
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        byStatus.forEach((status, tasks) -> counts.put(status, (long) tasks.size()));
+        return counts;
+    }
+
+    private Stream<TaskWithProject> withProject(Collection<Entry> entries) {
+        List<TaskWithProject> rows = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            rows.add(new TaskWithProject(entry.task, projects.findNameById(entry.projectId)));
+        }
+        return rows.stream();
+    }
+
+    private static final class Entry {
+        private final int id;
+        private Task task;
+        private final int projectId;
+        // Statut sous lequel la tâche est indexée
+        private TaskStatus status;
+        private int version;
+
+        private Entry(int id, Task task, int projectId) {
+            this.id = id;
+            this.task = task;
+            this.projectId = projectId;
+            this.status = task.getStatus();
+            this.version = task.getVersion();
+        }
+    }
+}
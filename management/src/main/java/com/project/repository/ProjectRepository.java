@@ -3,25 +3,44 @@ package com.project.repository;
 import java.sql.Date;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import com.project.entity.DataBaseConnectivity;
 import com.project.entity.Project;
+import com.project.entity.ProjectStatistics;
 import com.project.enums.ProjectStatus;
 import com.project.exceptions.DuplicateProjectException;
 import com.project.exceptions.DuplicateTaskException;
+import com.project.exceptions.OptimisticLockException;
 import com.project.interfaces.IProjectRepository;
 
 public class ProjectRepository implements IProjectRepository {
 
+    private static final String INSERT_SQL = "INSERT INTO projets (nom, description, date_debut, statut, progression) VALUES (?, ?, ?, ?, ?)";
+
     private final List<Project> projects = new ArrayList<>();
     private final DataBaseConnectivity db;
+    private int batchSize = Integer.getInteger("db.batch.size", 1000);
+    private int fetchSize = Integer.getInteger("db.fetch.size", 500);
 
     public ProjectRepository(DataBaseConnectivity db) {
         this.db = db;
     }
 
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
     @Override
     public Project create(String name, String description) {
         return new Project(name, description);
@@ -29,23 +48,49 @@ public class ProjectRepository implements IProjectRepository {
 
     @Override
     public void add(Project project) throws DuplicateProjectException, SQLException {
-        String sql = "INSERT INTO projets (nom, description, date_debut, statut, progression) VALUES (?, ?, ?, ?, ?)";
-
         try {
-            db.executeUpdate(sql,
-                    project.getName(),
-                    project.getDescription(),
-                    Date.valueOf(project.getFrom()),
-                    project.getStatus().name(),
-                    project.getProgression());
+            project.setId(db.executeInsert(INSERT_SQL, insertParams(project)));
         } catch (SQLException e) {
-            if (e.getErrorCode() == 1062) { // Code d'erreur MySQL pour duplicate entry
+            if (e.getErrorCode() == DataBaseConnectivity.DUPLICATE_ENTRY) {
                 throw new DuplicateProjectException("Projet existe déjà: " + project.getName());
             }
             throw e;
         }
     }
 
+    @Override
+    public void addAll(Collection<Project> projects) throws DuplicateProjectException, SQLException {
+        List<Project> batch = new ArrayList<>(projects);
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (Project project : batch) {
+            rows.add(insertParams(project));
+        }
+
+        int[] ids = new int[batch.size()];
+        int[] counts = db.executeBatch(INSERT_SQL, rows, batchSize, ids);
+
+        List<String> duplicates = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == Statement.EXECUTE_FAILED) {
+                duplicates.add(batch.get(i).getName());
+            } else {
+                batch.get(i).setId(ids[i]);
+            }
+        }
+        if (!duplicates.isEmpty()) {
+            throw new DuplicateProjectException("Projets existant déjà: " + String.join(", ", duplicates), duplicates);
+        }
+    }
+
+    private static Object[] insertParams(Project project) {
+        return new Object[] {
+                project.getName(),
+                project.getDescription(),
+                Date.valueOf(project.getFrom()),
+                project.getStatus().name(),
+                project.getProgression() };
+    }
+
     @Override
     public boolean delete(Project project) throws DuplicateTaskException, SQLException{
         final String sql = "DELETE FROM projets WHERE nom = ?";
@@ -56,48 +101,73 @@ public class ProjectRepository implements IProjectRepository {
         return rowsAffected > 0;
     }
 
+    @Override
+    public boolean deleteById(int id) throws SQLException {
+        return db.executeUpdate("DELETE FROM projets WHERE id = ?", id) > 0;
+    }
+
     @Override
     public boolean update(Project project) throws SQLException {
-        String sql = "UPDATE projets SET description = ?,statut=? WHERE nom=?";
-        int rows = db.executeUpdate(sql, 
+        return update(project, "nom", project.getName());
+    }
+
+    @Override
+    public boolean updateById(Project project) throws SQLException {
+        return update(project, "id", project.getId());
+    }
+
+    /**
+     * Enregistre le projet désigné par la colonne {@code keyColumn}.
+     */
+    private boolean update(Project project, String keyColumn, Object key) throws SQLException {
+        // Compare-and-set sur la version : aucune ligne modifiée si quelqu'un est passé avant.
+        // Tous les champs modifiables sont écrits : le cache reçoit cet objet tel quel
+        String sql = "UPDATE projets SET description = ?,date_fin=?,statut=?,version=version+1"
+                + " WHERE " + keyColumn + "=? AND version=?";
+        int rows = db.executeUpdate(sql,
         project.getDescription(),
+        project.getTo() != null ? Date.valueOf(project.getTo()) : null,
         project.getStatus().name(),
-        project.getName());
+        key,
+        project.getVersion());
+
+        if (rows > 0) {
+            project.setVersion(project.getVersion() + 1);
+            return true;
+        }
+        Integer current = currentVersion(keyColumn, key);
+        if (current == null) {
+            return false;
+        }
+        throw new OptimisticLockException(project.getName(), project.getVersion(), current);
+    }
 
-        return rows>0;
+    /**
+     * @return la version enregistrée du projet, ou null s'il n'existe plus
+     */
+    private Integer currentVersion(String keyColumn, Object key) throws SQLException {
+        try (ResultSet rs = db.executeQuery("SELECT version FROM projets WHERE " + keyColumn + " = ?", key)) {
+            return rs.next() ? rs.getInt("version") : null;
+        }
     }
 
     @Override
     public List<Project> getAll() throws SQLException {
-        List<Project> projects = new ArrayList<>();
-        String sql = "SELECT * FROM projets";
-        try(ResultSet rs = db.executeQuery(sql)){
-            while(rs.next()){
-                Project p = new Project(
-                    rs.getString("nom"),
-                    rs.getString("description"));
-                
-                p.setFrom(rs.getDate("date_debut").toLocalDate());
-                if (rs.getDate("date_fin") != null) {
-                    p.setTo(rs.getDate("date_fin").toLocalDate());
-                }
-                p.setStatus(ProjectStatus.valueOf(rs.getString("statut")));
-                p.setProgression(rs.getDouble("progression"));
-
-                 projects.add(p);
-            }
-        }
-        return projects;
+        return db.queryList("SELECT * FROM projets", ProjectRepository::mapProject);
     }
 
     @Override
-    public Project findByName(String name) {
-        String sql = "SELECT * FROM projets WHERE name = ?";
-        try {
-            ResultSet rs = db.executeQuery(sql, name);
-            Project p = new Project(rs.getNString("name"), rs.getNString("description"));
-            return p;
+    public Stream<Project> streamAll() throws SQLException {
+        return db.stream("SELECT * FROM projets", fetchSize, ProjectRepository::mapProject);
+    }
 
+    @Override
+    public Project findByName(String name) {
+        String sql = "SELECT * FROM projets WHERE nom = ?";
+        try (ResultSet rs = db.executeQuery(sql, name)) {
+            if (rs.next()) {
+                return mapProject(rs);
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -105,29 +175,47 @@ public class ProjectRepository implements IProjectRepository {
         return null;
     }
 
+    @Override
+    public Project findById(int id) throws SQLException {
+        try (ResultSet rs = db.executeQuery("SELECT * FROM projets WHERE id = ?", id)) {
+            return rs.next() ? mapProject(rs) : null;
+        }
+    }
+
     @Override
     public List<Project> findByStatus(ProjectStatus status) throws SQLException {
-        List<Project> projects = new ArrayList<>();
-        String sql = "SELECT * FROM projets where status = ?";
-        try(ResultSet rs = db.executeQuery(sql,status.name())){
-            while(rs.next()){
-                Project p = new Project(
-                    rs.getString("nom"),
-                    rs.getString("description"));
-                
-                p.setFrom(rs.getDate("date_debut").toLocalDate());
-                if (rs.getDate("date_fin") != null) {
-                    p.setTo(rs.getDate("date_fin").toLocalDate());
-                }
-                p.setStatus(ProjectStatus.valueOf(rs.getString("statut")));
-                p.setProgression(rs.getDouble("progression"));
-
-                 projects.add(p);
+        String sql = "SELECT * FROM projets WHERE statut = ?";
+        return db.queryList(sql, ProjectRepository::mapProject, status.name());
+    }
+
+    @Override
+    public ProjectStatistics getStatistics() throws SQLException {
+        String sql = "SELECT statut, COUNT(*) AS nb, SUM(progression) AS somme_progression FROM projets GROUP BY statut";
+        Map<ProjectStatus, Long> counts = new EnumMap<>(ProjectStatus.class);
+        double progressionSum = 0;
+        try (ResultSet rs = db.executeQuery(sql)) {
+            while (rs.next()) {
+                counts.put(ProjectStatus.valueOf(rs.getString("statut")), rs.getLong("nb"));
+                progressionSum += rs.getDouble("somme_progression");
             }
         }
-        return projects;
+        return new ProjectStatistics(counts, progressionSum);
     }
 
+    private static Project mapProject(ResultSet rs) throws SQLException {
+        Project p = new Project(
+                rs.getString("nom"),
+                rs.getString("description"));
+
+        p.setId(rs.getInt("id"));
+        p.setFrom(rs.getDate("date_debut").toLocalDate());
+        if (rs.getDate("date_fin") != null) {
+            p.setTo(rs.getDate("date_fin").toLocalDate());
+        }
+        p.setStatus(ProjectStatus.valueOf(rs.getString("statut")));
+        p.setProgression(rs.getDouble("progression"));
+        p.setVersion(rs.getInt("version"));
+        return p;
+    }
 
-    
 }
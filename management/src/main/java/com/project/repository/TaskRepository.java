@@ -1,28 +1,48 @@
 package com.project.repository;
 
 import java.sql.ResultSet;
+import java.sql.Date;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import com.project.entity.DataBaseConnectivity;
 import com.project.entity.Project;
 import com.project.entity.Task;
+import com.project.entity.TaskWithProject;
 import com.project.enums.TaskPriority;
 import com.project.enums.TaskStatus;
-import com.project.exceptions.DuplicateProjectException;
 import com.project.exceptions.DuplicateTaskException;
+import com.project.exceptions.OptimisticLockException;
 import com.project.interfaces.ITaskRepository;
 
 public class TaskRepository implements ITaskRepository {
+    private static final String INSERT_SQL = "INSERT INTO taches(projet_id,nom,description,date_echeance,statut,priorite) VALUES (?,?,?,?,?,?)";
+    private static final String SELECT_WITH_PROJECT_SQL = "SELECT t.*, p.nom AS projet_nom FROM taches t LEFT JOIN projets p ON p.id = t.projet_id";
+
     private final List<Project> projects = new ArrayList<>();
     private final DataBaseConnectivity db;
+    private int batchSize = Integer.getInteger("db.batch.size", 1000);
+    private int fetchSize = Integer.getInteger("db.fetch.size", 500);
 
     public TaskRepository(DataBaseConnectivity db) {
         this.db = db;
     }
 
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
     @Override
     public Task create(String name, String description, LocalDate dueDate, TaskStatus taskStatus,
             TaskPriority taskPriority) {
@@ -32,24 +52,53 @@ public class TaskRepository implements ITaskRepository {
 
     @Override
     public void add(Task task, int projectId) throws DuplicateTaskException, SQLException {
-        String sql = "INSERT INTO taches(projet_id,nom,description,date_echeance,statut,priorite) VALUES (?,?,?,?,?,?)";
         try {
-            db.executeUpdate(sql,
-                    projectId,
-                    task.getName(),
-                    task.getDescription(),
-                    task.getDueDate(),
-                    task.getStatus(),
-                    task.getPriority());
-
+            task.setId(db.executeInsert(INSERT_SQL, insertParams(task, projectId)));
+            task.setProjectId(projectId);
         } catch (SQLException e) {
-            if (e.getErrorCode() == 1062) { // Code d'erreur MySQL pour duplicate entry
-                throw new DuplicateProjectException("Projet existe déjà: " + task.getName());
+            if (e.getErrorCode() == DataBaseConnectivity.DUPLICATE_ENTRY) {
+                throw new DuplicateTaskException("Tâche existe déjà: " + task.getName());
             }
             throw e;
         }
     }
 
+    @Override
+    public void addAll(Collection<Task> tasks, int projectId) throws DuplicateTaskException, SQLException {
+        List<Task> batch = new ArrayList<>(tasks);
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (Task task : batch) {
+            rows.add(insertParams(task, projectId));
+        }
+
+        int[] ids = new int[batch.size()];
+        int[] counts = db.executeBatch(INSERT_SQL, rows, batchSize, ids);
+
+        List<String> duplicates = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == Statement.EXECUTE_FAILED) {
+                duplicates.add(batch.get(i).getName());
+            } else {
+                batch.get(i).setId(ids[i]);
+                batch.get(i).setProjectId(projectId);
+            }
+        }
+        if (!duplicates.isEmpty()) {
+            throw new DuplicateTaskException("Tâches existant déjà: " + String.join(", ", duplicates), duplicates);
+        }
+    }
+
+    private static Object[] insertParams(Task task, int projectId) {
+        return new Object[] {
+                // 0 : tâche sans projet, enregistrée avec un projet_id NULL
+                projectId != 0 ? projectId : null,
+                task.getName(),
+                task.getDescription(),
+                Date.valueOf(task.getDueDate()),
+                task.getStatus().name(),
+                task.getPriority().name() };
+    }
+
     @Override
     public boolean delete(Task task) throws SQLException {
         final String sql = "DELETE FROM taches WHERE nom = ?";
@@ -59,34 +108,65 @@ public class TaskRepository implements ITaskRepository {
         return rowsAffected > 0;
     }
 
+    @Override
+    public boolean deleteById(int id) throws SQLException {
+        return db.executeUpdate("DELETE FROM taches WHERE id = ?", id) > 0;
+    }
+
     @Override
     public boolean update(Task task) throws SQLException {
-        String sql = "UPDATE taches SET description = ?,statut=? WHERE nom=?";
+        return update(task, "nom", task.getName());
+    }
+
+    @Override
+    public boolean updateById(Task task) throws SQLException {
+        return update(task, "id", task.getId());
+    }
+
+    /**
+     * Enregistre la tâche désignée par la colonne {@code keyColumn}.
+     */
+    private boolean update(Task task, String keyColumn, Object key) throws SQLException {
+        // Compare-and-set sur la version : aucune ligne modifiée si quelqu'un est passé avant.
+        // Tous les champs modifiables sont écrits : le cache et les listeners reçoivent cet objet tel quel
+        String sql = "UPDATE taches SET description = ?,date_echeance=?,statut=?,priorite=?,version=version+1"
+                + " WHERE " + keyColumn + "=? AND version=?";
         int rows = db.executeUpdate(sql,
                 task.getDescription(),
+                Date.valueOf(task.getDueDate()),
                 task.getStatus().name(),
-                task.getName());
+                task.getPriority().name(),
+                key,
+                task.getVersion());
 
-        return rows > 0;
+        if (rows > 0) {
+            task.setVersion(task.getVersion() + 1);
+            return true;
+        }
+        Integer current = currentVersion(keyColumn, key);
+        if (current == null) {
+            return false;
+        }
+        throw new OptimisticLockException(task.getName(), task.getVersion(), current);
+    }
+
+    /**
+     * @return la version enregistrée de la tâche, ou null si elle n'existe plus
+     */
+    private Integer currentVersion(String keyColumn, Object key) throws SQLException {
+        try (ResultSet rs = db.executeQuery("SELECT version FROM taches WHERE " + keyColumn + " = ?", key)) {
+            return rs.next() ? rs.getInt("version") : null;
+        }
     }
 
     @Override
     public List<Task> getAll() throws SQLException {
-        final String sql = "SELECT * FROM taches";
-        List<Task> tasks = new ArrayList<>();
+        return db.queryList("SELECT * FROM taches", TaskRepository::mapTask);
+    }
 
-        try (ResultSet rs = db.executeQuery(sql)) {
-            while (rs.next()) {
-                Task task = new Task(
-                        rs.getString("nom"),
-                        rs.getString("description"),
-                        rs.getDate("due_date").toLocalDate(),
-                        TaskStatus.valueOf(rs.getString("status")),
-                        TaskPriority.valueOf(rs.getString("priority")));
-                tasks.add(task);
-            }
-        }
-        return tasks;
+    @Override
+    public Stream<Task> streamAll() throws SQLException {
+        return db.stream("SELECT * FROM taches", fetchSize, TaskRepository::mapTask);
     }
 
     @Override
@@ -95,34 +175,81 @@ public class TaskRepository implements ITaskRepository {
 
         try (ResultSet rs = db.executeQuery(sql, name)) {
             if (rs.next()) {
-                return new Task(
-                        rs.getString("nom"),
-                        rs.getString("description"),
-                        rs.getDate("due_date").toLocalDate(),
-                        TaskStatus.valueOf(rs.getString("status")),
-                        TaskPriority.valueOf(rs.getString("priority")));
+                return mapTask(rs);
             }
         }
         return null;
     }
 
+    @Override
+    public Task findById(int id) throws SQLException {
+        try (ResultSet rs = db.executeQuery("SELECT * FROM taches WHERE id = ?", id)) {
+            return rs.next() ? mapTask(rs) : null;
+        }
+    }
+
     @Override
     public List<Task> findByStatus(TaskStatus status) throws SQLException {
-        final String sql = "SELECT * FROM taches WHERE status = ?";
-        List<Task> tasks = new ArrayList<>();
+        return db.queryList("SELECT * FROM taches WHERE statut = ?", TaskRepository::mapTask, status.name());
+    }
+
+    @Override
+    public List<Task> findByProjectId(int projectId) throws SQLException {
+        if (projectId == 0) {
+            return db.queryList("SELECT * FROM taches WHERE projet_id IS NULL", TaskRepository::mapTask);
+        }
+        return db.queryList("SELECT * FROM taches WHERE projet_id = ?", TaskRepository::mapTask, projectId);
+    }
 
-        try (ResultSet rs = db.executeQuery(sql, status.name())) {
+    @Override
+    public Stream<Task> streamByStatus(TaskStatus status) throws SQLException {
+        return db.stream("SELECT * FROM taches WHERE statut = ?", fetchSize, TaskRepository::mapTask, status.name());
+    }
+
+    @Override
+    public Stream<TaskWithProject> streamAllWithProject() throws SQLException {
+        return db.stream(SELECT_WITH_PROJECT_SQL, fetchSize, TaskRepository::mapTaskWithProject);
+    }
+
+    @Override
+    public Stream<TaskWithProject> streamByStatusWithProject(TaskStatus status) throws SQLException {
+        return db.stream(SELECT_WITH_PROJECT_SQL + " WHERE t.statut = ?", fetchSize,
+                TaskRepository::mapTaskWithProject, status.name());
+    }
+
+    @Override
+    public Map<TaskStatus, Long> countByStatus() throws SQLException {
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            counts.put(status, 0L);
+        }
+        try (ResultSet rs = db.executeQuery("SELECT statut, COUNT(*) AS nb FROM taches GROUP BY statut")) {
             while (rs.next()) {
-                Task task = new Task(
-                        rs.getString("nom"),
-                        rs.getString("description"),
-                        rs.getDate("due_date").toLocalDate(),
-                        status, // On utilise le statut passé en paramètre
-                        TaskPriority.valueOf(rs.getString("priority")));
-                tasks.add(task);
+                counts.put(TaskStatus.valueOf(rs.getString("statut")), rs.getLong("nb"));
             }
         }
-        return tasks;
+        return counts;
+    }
+
+    private static TaskWithProject mapTaskWithProject(ResultSet rs) throws SQLException {
+        return new TaskWithProject(mapTask(rs), rs.getString("projet_nom"));
+    }
+
+    /**
+     * Convertit la ligne courante d'un ResultSet de la table taches.
+     */
+    public static Task mapTask(ResultSet rs) throws SQLException {
+        Task task = new Task(
+                rs.getString("nom"),
+                rs.getString("description"),
+                rs.getDate("date_echeance").toLocalDate(),
+                TaskStatus.valueOf(rs.getString("statut")),
+                TaskPriority.valueOf(rs.getString("priorite")));
+        task.setId(rs.getInt("id"));
+        // NULL (sans projet) est lu comme 0
+        task.setProjectId(rs.getInt("projet_id"));
+        task.setVersion(rs.getInt("version"));
+        return task;
     }
 
 }
@@ -0,0 +1,476 @@
+package com.project.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import com.project.entity.Project;
+import com.project.entity.ProjectRollup;
+import com.project.entity.ProjectStatistics;
+import com.project.entity.Task;
+import com.project.entity.TaskWithProject;
+import com.project.enums.ProjectStatus;
+import com.project.enums.TaskPriority;
+import com.project.enums.TaskStatus;
+import com.project.exceptions.BusinessException;
+import com.project.exceptions.DataAccessException;
+import com.project.exceptions.DuplicateProjectException;
+import com.project.exceptions.DuplicateTaskException;
+import com.project.exceptions.OptimisticLockException;
+import com.project.services.ProjectService;
+import com.project.services.TaskService;
+import com.project.util.Json;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * API HTTP/JSON au-dessus de ProjectService et TaskService, sur le serveur HTTP du JDK.
+ * Chaque requête est traitée sur son propre thread virtuel.
+ *
+ * <pre>
+ * GET    /projects                 liste des projets
+ * POST   /projects                 {"name", "description"}
+ * GET    /projects/{nom}           projet et nombre de ses tâches par statut
+ * PUT    /projects/{nom}           {"description", "status", "version"}
+ * DELETE /projects/{nom}
+ * GET    /tasks[?status=TODO]      liste des tâches avec leur projet
+ * POST   /tasks                    {"name", "description", "dueDate", "status", "priority", "project"}
+ * GET    /tasks/{nom}
+ * PUT    /tasks/{nom}              {"description", "status", "version"}
+ * DELETE /tasks/{nom}
+ * GET    /stats/projects           nombre de projets par statut, progression moyenne
+ * GET    /stats/tasks              nombre de tâches par statut
+ * </pre>
+ *
+ * Les listes sont écrites au fil du parcours de la base, par blocs. Projets et tâches
+ * y portent leur identifiant ("id", et "projectId" pour une tâche rattachée).
+ *
+ * Un PUT avec "version" n'est appliqué que si l'élément est toujours à cette version
+ * (sinon 409) ; sans "version", il est rejoué sur la dernière version en cas de
+ * modification concurrente.
+ */
+public class ApiServer {
+
+    private static final int MAX_BODY_SIZE = 1024 * 1024;
+    private static final int FLUSH_THRESHOLD = 8 * 1024;
+    private static final String JSON_TYPE = "application/json; charset=utf-8";
+
+    @FunctionalInterface
+    private interface Handler {
+        void handle(HttpExchange exchange, List<String> path) throws Exception;
+    }
+
+    private final ProjectService projectService;
+    private final TaskService taskService;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ApiServer(ProjectService projectService, TaskService taskService, int port) throws IOException {
+        this.projectService = projectService;
+        this.taskService = taskService;
+        this.server = HttpServer.create(new InetSocketAddress(port), Integer.getInteger("server.backlog", 256));
+        server.createContext("/projects", exchange -> dispatch(exchange, this::projects));
+        server.createContext("/tasks", exchange -> dispatch(exchange, this::tasks));
+        server.createContext("/stats", exchange -> dispatch(exchange, this::stats));
+        server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Arrête d'accepter des connexions et laisse au plus {@code delaySeconds} secondes
+     * aux requêtes en cours pour se terminer.
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    // ==================== ROUTAGE ====================
+
+    private void dispatch(HttpExchange exchange, Handler handler) {
+        try (exchange) {
+            try {
+                handler.handle(exchange, segments(exchange));
+            } catch (DuplicateProjectException | DuplicateTaskException | OptimisticLockException e) {
+                error(exchange, 409, e.getMessage());
+            } catch (BusinessException | IllegalArgumentException | DateTimeParseException e) {
+                error(exchange, 400, e.getMessage());
+            } catch (SQLException | DataAccessException e) {
+                error(exchange, 500, "Erreur base de données: " + e.getMessage());
+            } catch (Exception e) {
+                error(exchange, 500, "Erreur interne: " + e);
+            }
+        } catch (IOException e) {
+            // Client déconnecté pendant l'envoi de la réponse
+        }
+    }
+
+    /**
+     * Segments du chemin après le contexte, décodés : /projects/a%20b → [a b].
+     */
+    private static List<String> segments(HttpExchange exchange) {
+        String context = exchange.getHttpContext().getPath();
+        String path = exchange.getRequestURI().getRawPath().substring(context.length());
+        List<String> segments = new ArrayList<>();
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(URLDecoder.decode(segment.replace("+", "%2B"), StandardCharsets.UTF_8));
+            }
+        }
+        return segments;
+    }
+
+    private void projects(HttpExchange exchange, List<String> path) throws Exception {
+        String method = exchange.getRequestMethod();
+        if (path.isEmpty()) {
+            switch (method) {
+                case "GET" -> {
+                    try (Stream<Project> projects = projectService.streamAllProjects()) {
+                        sendArray(exchange, projects.iterator(), ApiServer::appendProject);
+                    }
+                }
+                case "POST" -> {
+                    Map<String, String> body = body(exchange);
+                    Project project = projectService.createProject(body.get("name"), body.get("description"));
+                    send(exchange, 201, appendProject(new StringBuilder(), project));
+                }
+                default -> notAllowed(exchange, "GET, POST");
+            }
+            return;
+        }
+        if (path.size() > 1) {
+            error(exchange, 404, "Ressource inconnue");
+            return;
+        }
+
+        Project project;
+        try {
+            project = projectService.findByName(path.get(0));
+        } catch (BusinessException e) {
+            error(exchange, 404, e.getMessage());
+            return;
+        }
+        switch (method) {
+            case "GET" -> {
+                StringBuilder json = appendProject(new StringBuilder(), project);
+                json.setLength(json.length() - 1);
+                Json.appendName(json.append(','), "taskCounts");
+                appendRollup(json, projectService.getProjectRollup(project.getName()));
+                send(exchange, 200, json.append('}'));
+            }
+            case "PUT" -> {
+                Map<String, String> body = body(exchange);
+                Consumer<Project> changes = p -> {
+                    if (body.containsKey("description")) {
+                        p.setDescription(body.get("description"));
+                    }
+                    if (body.get("status") != null) {
+                        p.setStatus(ProjectStatus.valueOf(body.get("status")));
+                    }
+                };
+                Project updated;
+                if (body.get("version") != null) {
+                    // Version fournie par le client : un seul essai, 409 si elle n'est plus à jour
+                    updated = project.copy();
+                    updated.setVersion(Integer.parseInt(body.get("version")));
+                    changes.accept(updated);
+                    if (!projectService.updateProject(updated)) {
+                        // Supprimé depuis la lecture : une version périmée aurait levé OptimisticLockException (409)
+                        error(exchange, 404, "Projet non trouvé: " + project.getName());
+                        return;
+                    }
+                } else {
+                    updated = projectService.updateProject(project.getName(), changes);
+                }
+                send(exchange, 200, appendProject(new StringBuilder(), updated));
+            }
+            case "DELETE" -> {
+                projectService.deleteProject(project);
+                sendEmpty(exchange, 204);
+            }
+            default -> notAllowed(exchange, "GET, PUT, DELETE");
+        }
+    }
+
+    private void tasks(HttpExchange exchange, List<String> path) throws Exception {
+        String method = exchange.getRequestMethod();
+        if (path.isEmpty()) {
+            switch (method) {
+                case "GET" -> {
+                    String status = query(exchange, "status");
+                    try (Stream<TaskWithProject> tasks = status == null
+                            ? taskService.streamAllTasksWithProject()
+                            : taskService.streamTasksByStatusWithProject(TaskStatus.valueOf(status))) {
+                        sendArray(exchange, tasks.iterator(),
+                                (json, row) -> appendTask(json, row.getTask(), row.getProjectName()));
+                    }
+                }
+                case "POST" -> {
+                    Map<String, String> body = body(exchange);
+                    String dueDate = body.get("dueDate");
+                    String projectName = body.get("project");
+                    Task task = new Task(
+                            body.get("name"),
+                            body.get("description"),
+                            dueDate == null ? null : LocalDate.parse(dueDate),
+                            body.get("status") == null ? TaskStatus.TODO : TaskStatus.valueOf(body.get("status")),
+                            body.get("priority") == null ? TaskPriority.MEDIUM : TaskPriority.valueOf(body.get("priority")));
+                    if (projectName == null) {
+                        task = taskService.createTask(task.getName(), task.getDescription(), task.getDueDate(),
+                                task.getStatus(), task.getPriority());
+                    } else {
+                        taskService.addTaskToProject(task, projectService.findByName(projectName));
+                    }
+                    send(exchange, 201, appendTask(new StringBuilder(), task, projectName));
+                }
+                default -> notAllowed(exchange, "GET, POST");
+            }
+            return;
+        }
+        if (path.size() > 1) {
+            error(exchange, 404, "Ressource inconnue");
+            return;
+        }
+
+        Task task = taskService.findByName(path.get(0));
+        if (task == null) {
+            error(exchange, 404, "Tâche non trouvée: " + path.get(0));
+            return;
+        }
+        switch (method) {
+            case "GET" -> send(exchange, 200, appendTask(new StringBuilder(), task, null));
+            case "PUT" -> {
+                Map<String, String> body = body(exchange);
+                Consumer<Task> changes = t -> {
+                    if (body.containsKey("description")) {
+                        t.setDescription(body.get("description"));
+                    }
+                    if (body.get("status") != null) {
+                        t.setStatus(TaskStatus.valueOf(body.get("status")));
+                    }
+                };
+                Task updated;
+                if (body.get("version") != null) {
+                    // Version fournie par le client : un seul essai, 409 si elle n'est plus à jour
+                    updated = task.copy();
+                    updated.setVersion(Integer.parseInt(body.get("version")));
+                    changes.accept(updated);
+                    if (!taskService.updateTask(updated)) {
+                        // Supprimé depuis la lecture : une version périmée aurait levé OptimisticLockException (409)
+                        error(exchange, 404, "Tâche non trouvée: " + task.getName());
+                        return;
+                    }
+                } else {
+                    updated = taskService.updateTask(task.getName(), changes);
+                }
+                send(exchange, 200, appendTask(new StringBuilder(), updated, null));
+            }
+            case "DELETE" -> {
+                taskService.deleteTask(task);
+                sendEmpty(exchange, 204);
+            }
+            default -> notAllowed(exchange, "GET, PUT, DELETE");
+        }
+    }
+
+    private void stats(HttpExchange exchange, List<String> path) throws Exception {
+        if (!exchange.getRequestMethod().equals("GET")) {
+            notAllowed(exchange, "GET");
+            return;
+        }
+        String resource = path.size() == 1 ? path.get(0) : "";
+        StringBuilder json = new StringBuilder("{");
+        switch (resource) {
+            case "projects" -> {
+                ProjectStatistics statistics = projectService.getStatistics();
+                for (ProjectStatus status : ProjectStatus.values()) {
+                    Json.appendName(json, status.name()).append(statistics.getCount(status)).append(',');
+                }
+                Json.appendName(json, "total").append(statistics.getTotal()).append(',');
+                Json.appendName(json, "averageProgression").append(statistics.getAverageProgression());
+            }
+            case "tasks" -> {
+                Map<TaskStatus, Long> counts = taskService.countTasksByStatus();
+                long total = 0;
+                for (Map.Entry<TaskStatus, Long> count : counts.entrySet()) {
+                    Json.appendName(json, count.getKey().name()).append(count.getValue()).append(',');
+                    total += count.getValue();
+                }
+                Json.appendName(json, "total").append(total);
+            }
+            default -> {
+                error(exchange, 404, "Ressource inconnue");
+                return;
+            }
+        }
+        send(exchange, 200, json.append('}'));
+    }
+
+    // ==================== REQUÊTES ====================
+
+    private static Map<String, String> body(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readNBytes(MAX_BODY_SIZE + 1);
+            if (bytes.length > MAX_BODY_SIZE) {
+                throw new IllegalArgumentException("Corps de requête trop volumineux");
+            }
+            return Json.parseObject(new String(bytes, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String query(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            if (key.equals(name)) {
+                return eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    // ==================== RÉPONSES ====================
+
+    private static void send(HttpExchange exchange, int status, CharSequence json) throws IOException {
+        byte[] bytes = json.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", JSON_TYPE);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sendEmpty(HttpExchange exchange, int status) throws IOException {
+        exchange.sendResponseHeaders(status, -1);
+    }
+
+    private static void error(HttpExchange exchange, int status, String message) throws IOException {
+        StringBuilder json = new StringBuilder("{");
+        Json.appendName(json, "error");
+        Json.appendString(json, message);
+        send(exchange, status, json.append('}'));
+    }
+
+    private static void notAllowed(HttpExchange exchange, String allowed) throws IOException {
+        exchange.getResponseHeaders().set("Allow", allowed);
+        error(exchange, 405, "Méthode non supportée: " + exchange.getRequestMethod());
+    }
+
+    @FunctionalInterface
+    private interface Encoder<T> {
+        StringBuilder append(StringBuilder json, T value);
+    }
+
+    /**
+     * Écrit un tableau JSON en réponse chunked, par blocs, sans le construire en entier.
+     * Une erreur en cours de parcours coupe la réponse : le client reçoit un JSON tronqué.
+     */
+    private static <T> void sendArray(HttpExchange exchange, Iterator<T> values, Encoder<T> encoder)
+            throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", JSON_TYPE);
+        boolean first = true;
+        StringBuilder json = new StringBuilder(FLUSH_THRESHOLD + 1024).append('[');
+        // Premier élément lu avant l'envoi des en-têtes : une erreur immédiate donne encore un code 500
+        boolean hasNext = values.hasNext();
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            while (hasNext) {
+                if (!first) {
+                    json.append(',');
+                }
+                first = false;
+                encoder.append(json, values.next());
+                if (json.length() >= FLUSH_THRESHOLD) {
+                    out.write(json.toString().getBytes(StandardCharsets.UTF_8));
+                    json.setLength(0);
+                }
+                hasNext = values.hasNext();
+            }
+            out.write(json.append(']').toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    // ==================== ENCODAGE ====================
+
+    private static StringBuilder appendProject(StringBuilder json, Project project) {
+        json.append('{');
+        Json.appendName(json, "id").append(project.getId()).append(',');
+        Json.appendName(json, "name");
+        Json.appendString(json, project.getName()).append(',');
+        Json.appendName(json, "description");
+        Json.appendString(json, project.getDescription()).append(',');
+        Json.appendName(json, "from");
+        appendDate(json, project.getFrom()).append(',');
+        Json.appendName(json, "to");
+        appendDate(json, project.getTo()).append(',');
+        Json.appendName(json, "status");
+        Json.appendString(json, project.getStatus().name()).append(',');
+        Json.appendName(json, "progression").append(project.getProgression()).append(',');
+        Json.appendName(json, "version").append(project.getVersion());
+        return json.append('}');
+    }
+
+    private static StringBuilder appendTask(StringBuilder json, Task task, String projectName) {
+        json.append('{');
+        Json.appendName(json, "id").append(task.getId()).append(',');
+        Json.appendName(json, "name");
+        Json.appendString(json, task.getName()).append(',');
+        Json.appendName(json, "description");
+        Json.appendString(json, task.getDescription()).append(',');
+        Json.appendName(json, "dueDate");
+        appendDate(json, task.getDueDate()).append(',');
+        Json.appendName(json, "status");
+        Json.appendString(json, task.getStatus().name()).append(',');
+        Json.appendName(json, "priority");
+        Json.appendString(json, task.getPriority().name()).append(',');
+        Json.appendName(json, "version").append(task.getVersion());
+        if (task.getProjectId() != 0) {
+            json.append(',');
+            Json.appendName(json, "projectId").append(task.getProjectId());
+        }
+        if (projectName != null) {
+            json.append(',');
+            Json.appendName(json, "project");
+            Json.appendString(json, projectName);
+        }
+        return json.append('}');
+    }
+
+    private static StringBuilder appendRollup(StringBuilder json, ProjectRollup rollup) {
+        json.append('{');
+        for (TaskStatus status : TaskStatus.values()) {
+            Json.appendName(json, status.name()).append(rollup.getCount(status)).append(',');
+        }
+        Json.appendName(json, "total").append(rollup.getTotal());
+        return json.append('}');
+    }
+
+    private static StringBuilder appendDate(StringBuilder json, LocalDate date) {
+        return Json.appendString(json, date == null ? null : date.toString());
+    }
+}
@@ -0,0 +1,95 @@
+package com.project.services;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Exécuteur des méthodes asynchrones des services : un thread virtuel par appel,
+ * avec au plus {@code maxConcurrency} appels en cours à la fois.
+ *
+ * La borne correspond à la taille du pool de connexions : au-delà, les appels
+ * attendent ici leur tour au lieu d'attendre une connexion jusqu'au délai
+ * d'emprunt du pool.
+ */
+public class AsyncExecutor implements Executor, AutoCloseable {
+
+    /**
+     * Appel de service pouvant lever une exception vérifiée (SQLException en pratique).
+     */
+    @FunctionalInterface
+    public interface Call<T> {
+        T call() throws Exception;
+    }
+
+    private final int maxConcurrency;
+    private final Semaphore permits;
+    private final ExecutorService threads = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("service-async-", 0).factory());
+
+    public AsyncExecutor(int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Le nombre d'appels simultanés doit être positif");
+        }
+        this.maxConcurrency = maxConcurrency;
+        this.permits = new Semaphore(maxConcurrency, true);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        threads.execute(() -> {
+            // Sans interruption : une tâche qui ne s'exécute pas laisserait son CompletableFuture en suspens
+            permits.acquireUninterruptibly();
+            try {
+                command.run();
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    /**
+     * Exécute {@code call} de façon asynchrone. Une exception vérifiée est transmise
+     * au CompletableFuture enveloppée dans une CompletionException.
+     */
+    public <T> CompletableFuture<T> supply(Call<T> call) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return call.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, this);
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * @return le nombre d'appels en cours d'exécution
+     */
+    public int getActiveCount() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    /**
+     * @return le nombre d'appels en attente d'une place
+     */
+    public int getWaitingCount() {
+        return permits.getQueueLength();
+    }
+
+    /**
+     * N'accepte plus de nouveaux appels ; ceux déjà soumis vont à leur terme.
+     */
+    @Override
+    public void close() {
+        threads.shutdown();
+    }
+}
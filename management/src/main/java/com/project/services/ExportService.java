@@ -0,0 +1,263 @@
+package com.project.services;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import com.project.entity.DataBaseConnectivity;
+import com.project.enums.ExportFormat;
+import com.project.util.Json;
+
+/**
+ * Export complet des tables projets et taches en CSV ou JSON Lines.
+ *
+ * Les lignes sont lues depuis un curseur en avant seulement et encodées dans des
+ * tampons réutilisés, écrits par blocs : la mémoire utilisée ne dépend pas du
+ * nombre de lignes exportées.
+ *
+ * Les tâches sont exportées avec le nom de leur projet (colonne projet_nom) : les
+ * identifiants ne se conservent pas d'une base à l'autre, l'import rattache les
+ * tâches par ce nom.
+ */
+public class ExportService {
+
+    public static final List<String> TABLES = List.of("projets", "taches");
+
+    @FunctionalInterface
+    public interface ProgressListener {
+        void rowsWritten(String table, long rows);
+    }
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final long PROGRESS_INTERVAL = 10_000;
+    private static final String TASKS_SQL =
+            "SELECT t.*, p.nom AS projet_nom FROM taches t LEFT JOIN projets p ON p.id = t.projet_id";
+
+    private final DataBaseConnectivity db;
+    private final int fetchSize;
+
+    public ExportService(DataBaseConnectivity db) {
+        this(db, Integer.getInteger("db.fetch.size", 500));
+    }
+
+    public ExportService(DataBaseConnectivity db, int fetchSize) {
+        this.db = db;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Exporte une table vers {@code output}, compressée en gzip si demandé.
+     *
+     * @return le nombre de lignes exportées
+     */
+    public long exportTable(String table, ExportFormat format, Path output, boolean gzip,
+            ProgressListener progress) throws SQLException, IOException {
+        if (!TABLES.contains(table)) {
+            throw new IllegalArgumentException("Table inconnue: " + table);
+        }
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+
+        try (ResultSet rs = db.executeStreamingQuery(
+                table.equals("taches") ? TASKS_SQL : "SELECT * FROM " + table, fetchSize);
+                ChunkWriter out = new ChunkWriter(open(output, gzip))) {
+            ResultSetMetaData meta = rs.getMetaData();
+            int columns = meta.getColumnCount();
+            String[] names = new String[columns];
+            boolean[] numeric = new boolean[columns];
+            for (int i = 0; i < columns; i++) {
+                names[i] = meta.getColumnLabel(i + 1);
+                numeric[i] = isNumeric(meta.getColumnType(i + 1));
+            }
+
+            StringBuilder line = out.buffer();
+            if (format == ExportFormat.CSV) {
+                for (int i = 0; i < columns; i++) {
+                    if (i > 0) {
+                        line.append(',');
+                    }
+                    appendCsv(line, names[i]);
+                }
+                line.append('\n');
+            }
+
+            long rows = 0;
+            while (rs.next()) {
+                if (format == ExportFormat.CSV) {
+                    appendCsvRow(line, rs, columns);
+                } else {
+                    appendJsonRow(line, rs, names, numeric);
+                }
+                out.rowWritten();
+                rows++;
+                if (progress != null && rows % PROGRESS_INTERVAL == 0) {
+                    progress.rowsWritten(table, rows);
+                }
+            }
+            if (progress != null) {
+                progress.rowsWritten(table, rows);
+            }
+            return rows;
+        }
+    }
+
+    private static WritableByteChannel open(Path output, boolean gzip) throws IOException {
+        FileChannel file = FileChannel.open(output, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        if (!gzip) {
+            return file;
+        }
+        return Channels.newChannel(new GZIPOutputStream(Channels.newOutputStream(file), CHUNK_SIZE));
+    }
+
+    private static boolean isNumeric(int sqlType) {
+        switch (sqlType) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    // ==================== CSV ====================
+
+    private static void appendCsvRow(StringBuilder line, ResultSet rs, int columns) throws SQLException {
+        for (int i = 1; i <= columns; i++) {
+            if (i > 1) {
+                line.append(',');
+            }
+            String value = rs.getString(i);
+            if (value != null) {
+                appendCsv(line, value);
+            }
+        }
+        line.append('\n');
+    }
+
+    private static void appendCsv(StringBuilder line, String value) {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    // ==================== JSON LINES ====================
+
+    private static void appendJsonRow(StringBuilder line, ResultSet rs, String[] names, boolean[] numeric)
+            throws SQLException {
+        line.append('{');
+        for (int i = 0; i < names.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            Json.appendString(line, names[i]);
+            line.append(':');
+            String value = rs.getString(i + 1);
+            if (value == null) {
+                line.append("null");
+            } else if (numeric[i]) {
+                line.append(value);
+            } else {
+                Json.appendString(line, value);
+            }
+        }
+        line.append("}\n");
+    }
+
+    /**
+     * Accumule le texte des lignes et l'encode en UTF-8 par blocs dans un tampon réutilisé.
+     */
+    private static final class ChunkWriter implements AutoCloseable {
+        private final WritableByteChannel channel;
+        private final StringBuilder text = new StringBuilder(CHUNK_SIZE + 1024);
+        private final ByteBuffer bytes = ByteBuffer.allocateDirect(CHUNK_SIZE);
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+
+        private ChunkWriter(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        private StringBuilder buffer() {
+            return text;
+        }
+
+        private void rowWritten() throws IOException {
+            if (text.length() >= CHUNK_SIZE) {
+                drain();
+            }
+        }
+
+        private void drain() throws IOException {
+            CharBuffer chars = CharBuffer.wrap(text);
+            while (true) {
+                CoderResult result = encoder.encode(chars, bytes, true);
+                if (result.isError()) {
+                    result.throwException();
+                }
+                writeBytes();
+                if (result.isUnderflow()) {
+                    break;
+                }
+            }
+            encoder.flush(bytes);
+            writeBytes();
+            encoder.reset();
+            text.setLength(0);
+        }
+
+        private void writeBytes() throws IOException {
+            bytes.flip();
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            bytes.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                drain();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
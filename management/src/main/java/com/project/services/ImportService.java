@@ -0,0 +1,655 @@
+package com.project.services;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import com.project.entity.FileManagement;
+import com.project.entity.ImportReport;
+import com.project.entity.Project;
+import com.project.entity.Task;
+import com.project.enums.ExportFormat;
+import com.project.enums.ProjectStatus;
+import com.project.enums.TaskPriority;
+import com.project.enums.TaskStatus;
+import com.project.exceptions.DuplicateProjectException;
+import com.project.exceptions.DuplicateTaskException;
+import com.project.util.Json;
+
+/**
+ * Import en masse des tables projets et taches depuis les fichiers produits par
+ * ExportService (CSV ou JSON Lines, gzip détecté automatiquement) ou par FileManagement.
+ *
+ * Le fichier est lu séquentiellement et découpé en paquets de lignes, analysés et
+ * validés en parallèle par plusieurs threads avec les règles de ProjectService et
+ * TaskService. Les paquets valides passent par une file bornée vers un unique
+ * thread d'écriture qui les insère par lots, un lot par transaction : quand la base
+ * ne suit pas, les files pleines bloquent la lecture.
+ *
+ * Les lignes invalides et les doublons sont comptés sans interrompre l'import ;
+ * seule une erreur de lecture ou une erreur SQL l'arrête.
+ *
+ * Les identifiants ne sont pas conservés : une tâche est rattachée au projet nommé
+ * par sa colonne projet_nom, ou à défaut au projet dont l'identifiant d'origine
+ * (colonne id d'un import de projets précédent) vaut son projet_id. Une tâche dont
+ * le projet est introuvable est rejetée.
+ */
+public class ImportService {
+
+    @FunctionalInterface
+    public interface ProgressListener {
+        void rowsImported(String table, long rows);
+    }
+
+    private static final List<String> PROJECT_COLUMNS = List.of(
+            "nom", "description", "date_debut", "date_fin", "statut", "progression", "id");
+    private static final List<String> TASK_COLUMNS = List.of(
+            "projet_id", "nom", "description", "date_echeance", "statut", "priorite", "projet_nom");
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_REPORTED_ERRORS = 20;
+
+    // Marque de fin envoyée à chaque thread d'analyse, puis par chacun au thread d'écriture
+    private static final RawChunk END_OF_INPUT = new RawChunk(0);
+    private static final ParsedChunk END_OF_CHUNKS = new ParsedChunk();
+
+    private final ProjectService projectService;
+    private final TaskService taskService;
+    private final int workers;
+    private final int queueCapacity;
+    private final int chunkSize;
+    // Projets importés par identifiant d'origine, pour rattacher les tâches d'un import suivant
+    private final Map<Integer, Project> importedProjects = new ConcurrentHashMap<>();
+
+    public ImportService(ProjectService projectService, TaskService taskService) {
+        this(projectService, taskService,
+                Integer.getInteger("import.workers", Runtime.getRuntime().availableProcessors()),
+                Integer.getInteger("import.queue.size", 16),
+                Integer.getInteger("db.batch.size", 1000));
+    }
+
+    /**
+     * @param workers       nombre de threads d'analyse
+     * @param queueCapacity nombre de paquets en attente entre deux étapes avant de bloquer la lecture
+     * @param chunkSize     nombre de lignes par paquet, et donc par transaction
+     */
+    public ImportService(ProjectService projectService, TaskService taskService,
+            int workers, int queueCapacity, int chunkSize) {
+        if (workers <= 0 || queueCapacity <= 0 || chunkSize <= 0) {
+            throw new IllegalArgumentException("Les paramètres d'import doivent être positifs");
+        }
+        this.projectService = projectService;
+        this.taskService = taskService;
+        this.workers = workers;
+        this.queueCapacity = queueCapacity;
+        this.chunkSize = chunkSize;
+    }
+
+    // ==================== CSV / JSON LINES ====================
+
+    /**
+     * Importe une table exportée par {@link ExportService}. Les colonnes inconnues sont
+     * ignorées, les colonnes absentes prennent leur valeur par défaut.
+     */
+    public ImportReport importTable(String table, ExportFormat format, Path input, ProgressListener progress)
+            throws IOException, SQLException {
+        List<String> columns = columnsOf(table);
+        long start = System.nanoTime();
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(workers + 1, r -> {
+            Thread t = new Thread(r, "import-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        BlockingQueue<RawChunk> raw = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<ParsedChunk> parsed = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicBoolean aborted = new AtomicBoolean();
+
+        try (BufferedReader reader = open(input)) {
+            int[] slots = format == ExportFormat.CSV ? headerSlots(reader.readLine(), columns) : null;
+            Map<String, Integer> keys = new HashMap<>();
+            for (int i = 0; i < columns.size(); i++) {
+                keys.put(columns.get(i), i);
+            }
+
+            Future<Void> reading = executor.submit(() -> {
+                read(reader, format, raw, aborted);
+                return null;
+            });
+            for (int i = 0; i < workers; i++) {
+                executor.submit(() -> parse(table, format, columns.size(), slots, keys, raw, parsed));
+            }
+
+            Tally tally = new Tally(table, progress);
+            int finished = 0;
+            while (finished < workers) {
+                ParsedChunk chunk = parsed.take();
+                if (chunk == END_OF_CHUNKS) {
+                    finished++;
+                } else if (aborted.get()) {
+                    continue; // on vide la file pour débloquer les autres threads
+                } else {
+                    try {
+                        tally.insert(chunk);
+                    } catch (SQLException | RuntimeException e) {
+                        aborted.set(true);
+                        tally.failure = e;
+                    }
+                }
+            }
+
+            try {
+                reading.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new IOException("Erreur de lecture de " + input, e.getCause());
+            }
+            return tally.report(start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            aborted.set(true);
+            throw new InterruptedIOException("Import de " + input + " interrompu");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<String> columnsOf(String table) {
+        switch (table) {
+            case "projets":
+                return PROJECT_COLUMNS;
+            case "taches":
+                return TASK_COLUMNS;
+            default:
+                throw new IllegalArgumentException("Table inconnue: " + table);
+        }
+    }
+
+    private static BufferedReader open(Path input) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(input), READ_BUFFER_SIZE);
+        in.mark(2);
+        boolean gzip = in.read() == 0x1f && in.read() == 0x8b;
+        in.reset();
+        if (gzip) {
+            in = new GZIPInputStream(in, READ_BUFFER_SIZE);
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), READ_BUFFER_SIZE);
+    }
+
+    /**
+     * Associe chaque colonne de l'en-tête CSV à sa position dans la table (-1 si inconnue).
+     */
+    private static int[] headerSlots(String header, List<String> columns) throws IOException {
+        if (header == null) {
+            throw new IOException("Fichier CSV vide : en-tête manquant");
+        }
+        List<String> names = splitCsv(header);
+        int[] slots = new int[names.size()];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = columns.indexOf(names.get(i).trim().toLowerCase(Locale.ROOT));
+        }
+        int nameSlot = columns.indexOf("nom");
+        if (Arrays.stream(slots).noneMatch(slot -> slot == nameSlot)) {
+            throw new IOException("Colonne 'nom' absente de l'en-tête CSV");
+        }
+        return slots;
+    }
+
+    /**
+     * Thread de lecture : regroupe les enregistrements en paquets et les remet aux
+     * threads d'analyse, en bloquant tant que la file est pleine.
+     */
+    private void read(BufferedReader reader, ExportFormat format, BlockingQueue<RawChunk> raw,
+            AtomicBoolean aborted) throws IOException, InterruptedException {
+        try {
+            int lineNumber = format == ExportFormat.CSV ? 1 : 0;
+            RawChunk chunk = new RawChunk(chunkSize);
+            String line;
+            while (!aborted.get() && (line = reader.readLine()) != null) {
+                lineNumber++;
+                int recordLine = lineNumber;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == ExportFormat.CSV) {
+                    // Un champ entre guillemets peut contenir des retours à la ligne
+                    int quotes = countQuotes(line);
+                    if (quotes % 2 != 0) {
+                        StringBuilder record = new StringBuilder(line);
+                        String next;
+                        while (quotes % 2 != 0 && (next = reader.readLine()) != null) {
+                            lineNumber++;
+                            record.append('\n').append(next);
+                            quotes += countQuotes(next);
+                        }
+                        line = record.toString();
+                    }
+                }
+                chunk.add(line, recordLine);
+                if (chunk.size == chunkSize) {
+                    raw.put(chunk);
+                    chunk = new RawChunk(chunkSize);
+                }
+            }
+            if (chunk.size > 0 && !aborted.get()) {
+                raw.put(chunk);
+            }
+        } finally {
+            for (int i = 0; i < workers; i++) {
+                raw.put(END_OF_INPUT);
+            }
+        }
+    }
+
+    private static int countQuotes(String line) {
+        int count = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Thread d'analyse : convertit et valide chaque enregistrement d'un paquet.
+     */
+    private Void parse(String table, ExportFormat format, int columnCount, int[] slots, Map<String, Integer> keys,
+            BlockingQueue<RawChunk> raw, BlockingQueue<ParsedChunk> parsed) throws InterruptedException {
+        try {
+            RawChunk chunk;
+            while ((chunk = raw.take()) != END_OF_INPUT) {
+                ParsedChunk result = new ParsedChunk();
+                for (int i = 0; i < chunk.size; i++) {
+                    result.read++;
+                    try {
+                        String[] values = format == ExportFormat.CSV
+                                ? csvValues(chunk.records[i], slots, columnCount)
+                                : jsonValues(chunk.records[i], keys, columnCount);
+                        if (table.equals("projets")) {
+                            Project project = toProject(values);
+                            result.projects.add(project);
+                            if (values[6] != null) {
+                                result.sourceIds.put(project, Integer.parseInt(values[6].trim()));
+                            }
+                        } else if (values[6] != null) {
+                            result.tasksByProjectName.computeIfAbsent(values[6], name -> new ArrayList<>())
+                                    .add(toTask(values));
+                        } else {
+                            int projectId = values[0] == null ? 0 : Integer.parseInt(values[0].trim());
+                            result.tasks.computeIfAbsent(projectId, id -> new ArrayList<>()).add(toTask(values));
+                        }
+                    } catch (RuntimeException e) {
+                        result.reject("ligne " + chunk.lines[i] + ": " + e.getMessage());
+                    }
+                }
+                parsed.put(result);
+            }
+        } finally {
+            parsed.put(END_OF_CHUNKS);
+        }
+        return null;
+    }
+
+    private static Project toProject(String[] values) {
+        ProjectService.validateProject(values[0]);
+        Project project = new Project(values[0], values[1]);
+        if (values[2] != null) {
+            project.setFrom(LocalDate.parse(values[2]));
+        }
+        if (values[3] != null) {
+            project.setTo(LocalDate.parse(values[3]));
+        }
+        if (values[4] != null) {
+            project.setStatus(ProjectStatus.valueOf(values[4]));
+        }
+        if (values[5] != null) {
+            project.setProgression(Double.parseDouble(values[5]));
+        }
+        return project;
+    }
+
+    private static Task toTask(String[] values) {
+        LocalDate dueDate = values[3] == null ? null : LocalDate.parse(values[3]);
+        TaskService.validateTask(values[1], dueDate);
+        return new Task(values[1], values[2], dueDate,
+                values[4] == null ? TaskStatus.TODO : TaskStatus.valueOf(values[4]),
+                values[5] == null ? TaskPriority.MEDIUM : TaskPriority.valueOf(values[5]));
+    }
+
+    // ==================== FORMAT BINAIRE ====================
+
+    /**
+     * Importe un export de {@link FileManagement}. Le fichier est relu en entier avant
+     * l'insertion ; les tâches des projets rejetés sont rejetées avec eux.
+     *
+     * Les projets d'un paquet étant insérés avant ses tâches, chaque tâche est rattachée
+     * à l'identifiant généré pour son projet. Celles d'un projet ignoré comme doublon
+     * sont insérées sans projet de rattachement (projet_id NULL), comme les tâches
+     * de la section sans projet.
+     *
+     * @return le bilan des projets puis celui des tâches
+     */
+    public List<ImportReport> importBinary(Path input, ProgressListener progress) throws IOException, SQLException {
+        long start = System.nanoTime();
+        FileManagement file = new FileManagement(input);
+        List<Project> projects = file.readFromFile();
+
+        Tally projectTally = new Tally("projets", progress);
+        Tally taskTally = new Tally("taches", progress);
+        ParsedChunk projectChunk = new ParsedChunk();
+        ParsedChunk taskChunk = new ParsedChunk();
+        for (int p = 0; p < projects.size(); p++) {
+            Project project = projects.get(p);
+            projectChunk.read++;
+            try {
+                ProjectService.validateProject(project.getName());
+                if (project.getFrom() == null) {
+                    project.setFrom(LocalDate.now());
+                }
+                projectChunk.projects.add(project);
+            } catch (RuntimeException e) {
+                projectChunk.reject("projet " + (p + 1) + ": " + e.getMessage());
+                taskTally.rejectAll(project.getTasks().size(), "tâches du projet " + (p + 1) + " rejetées avec lui");
+                continue;
+            }
+            for (Task task : project.getTasks()) {
+                taskChunk.read++;
+                try {
+                    TaskService.validateTask(task.getName(), task.getDueDate());
+                    taskChunk.projectTasks.computeIfAbsent(project, key -> new ArrayList<>()).add(task);
+                } catch (RuntimeException e) {
+                    taskChunk.reject("tâche " + task.getName() + ": " + e.getMessage());
+                }
+                if (taskChunk.read == chunkSize) {
+                    projectTally.insert(projectChunk);
+                    projectChunk = new ParsedChunk();
+                    taskTally.insert(taskChunk);
+                    taskChunk = new ParsedChunk();
+                }
+            }
+            if (projectChunk.read == chunkSize) {
+                projectTally.insert(projectChunk);
+                projectChunk = new ParsedChunk();
+            }
+        }
+        for (Task task : file.getUnassignedTasks()) {
+            taskChunk.read++;
+            try {
+                TaskService.validateTask(task.getName(), task.getDueDate());
+                taskChunk.tasks.computeIfAbsent(0, key -> new ArrayList<>()).add(task);
+            } catch (RuntimeException e) {
+                taskChunk.reject("tâche " + task.getName() + ": " + e.getMessage());
+            }
+            if (taskChunk.read == chunkSize) {
+                projectTally.insert(projectChunk);
+                projectChunk = new ParsedChunk();
+                taskTally.insert(taskChunk);
+                taskChunk = new ParsedChunk();
+            }
+        }
+        // Les projets toujours avant leurs tâches
+        projectTally.insert(projectChunk);
+        taskTally.insert(taskChunk);
+        return List.of(projectTally.report(start), taskTally.report(start));
+    }
+
+    // ==================== ÉCRITURE ====================
+
+    /**
+     * Insère les paquets et cumule le bilan. Utilisé par un seul thread à la fois.
+     */
+    private final class Tally {
+        private final String table;
+        private final ProgressListener progress;
+        private final List<String> errors = new ArrayList<>();
+        private long read;
+        private long imported;
+        private long rejected;
+        private long duplicates;
+        private Exception failure;
+        // Projets référencés par nom dans les tâches importées, relus une fois par import (null : introuvable)
+        private final Map<String, Project> projectsByName = new HashMap<>();
+
+        private Tally(String table, ProgressListener progress) {
+            this.table = table;
+            this.progress = progress;
+        }
+
+        private void insert(ParsedChunk chunk) throws SQLException {
+            read += chunk.read;
+            rejected += chunk.rejected;
+            chunk.errors.forEach(this::error);
+
+            if (!chunk.projects.isEmpty()) {
+                try {
+                    projectService.addProjects(chunk.projects);
+                    imported += chunk.projects.size();
+                } catch (DuplicateProjectException e) {
+                    duplicates += e.getNames().size();
+                    imported += chunk.projects.size() - e.getNames().size();
+                    e.getNames().forEach(name -> error("doublon: " + name));
+                }
+                rememberSourceIds(chunk);
+            }
+            for (Map.Entry<String, List<Task>> group : chunk.tasksByProjectName.entrySet()) {
+                Project project = projectNamed(group.getKey());
+                if (project == null) {
+                    rejectTasks(group.getValue(), "projet inconnu: " + group.getKey());
+                } else {
+                    insertTasks(group.getValue(), project.getId(), project.getName());
+                }
+            }
+            for (Map.Entry<Integer, List<Task>> group : chunk.tasks.entrySet()) {
+                int sourceId = group.getKey();
+                Project project = sourceId == 0 ? null : importedProjects.get(sourceId);
+                if (sourceId != 0 && project == null) {
+                    // Identifiant d'une autre base : sans le nom du projet, impossible de le retrouver
+                    rejectTasks(group.getValue(), "projet d'origine inconnu: " + sourceId);
+                } else {
+                    insertTasks(group.getValue(), project != null ? project.getId() : 0,
+                            project != null ? project.getName() : null);
+                }
+            }
+            // Projets déjà insérés : leur identifiant est connu (0 pour un doublon ignoré)
+            for (Map.Entry<Project, List<Task>> group : chunk.projectTasks.entrySet()) {
+                Project project = group.getKey();
+                insertTasks(group.getValue(), project.getId(), project.getId() != 0 ? project.getName() : null);
+            }
+            if (progress != null) {
+                progress.rowsImported(table, imported);
+            }
+        }
+
+        private void insertTasks(List<Task> tasks, int projectId, String projectName) throws SQLException {
+            try {
+                taskService.addTasks(tasks, projectId, projectName);
+                imported += tasks.size();
+            } catch (DuplicateTaskException e) {
+                duplicates += e.getNames().size();
+                imported += tasks.size() - e.getNames().size();
+                e.getNames().forEach(name -> error("doublon: " + name));
+            }
+        }
+
+        private void rejectTasks(List<Task> tasks, String message) {
+            rejected += tasks.size();
+            error(message + " (" + tasks.size() + " tâches rejetées)");
+        }
+
+        /**
+         * Associe l'identifiant d'origine de chaque projet du paquet à celui qu'il a reçu, ou
+         * au projet déjà enregistré sous ce nom s'il a été ignoré comme doublon.
+         */
+        private void rememberSourceIds(ParsedChunk chunk) {
+            for (Map.Entry<Project, Integer> source : chunk.sourceIds.entrySet()) {
+                Project project = source.getKey();
+                Project stored = project.getId() != 0 ? project : projectNamed(project.getName());
+                if (stored != null) {
+                    importedProjects.put(source.getValue(), stored);
+                }
+            }
+        }
+
+        private Project projectNamed(String name) {
+            if (!projectsByName.containsKey(name)) {
+                projectsByName.put(name, projectService.findByName(name));
+            }
+            return projectsByName.get(name);
+        }
+
+        private void rejectAll(int count, String message) {
+            read += count;
+            rejected += count;
+            if (count > 0) {
+                error(message);
+            }
+        }
+
+        private void error(String message) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(message);
+            }
+        }
+
+        private ImportReport report(long start) throws SQLException {
+            if (failure instanceof SQLException) {
+                throw (SQLException) failure;
+            }
+            if (failure != null) {
+                throw (RuntimeException) failure;
+            }
+            return new ImportReport(table, read, imported, rejected, duplicates, errors,
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private static final class RawChunk {
+        private final String[] records;
+        private final int[] lines;
+        private int size;
+
+        private RawChunk(int capacity) {
+            this.records = new String[capacity];
+            this.lines = new int[capacity];
+        }
+
+        private void add(String record, int line) {
+            records[size] = record;
+            lines[size] = line;
+            size++;
+        }
+    }
+
+    private static final class ParsedChunk {
+        private final List<Project> projects = new ArrayList<>();
+        // Tâches par projet_id d'origine, quand le fichier ne donne pas le nom du projet
+        private final Map<Integer, List<Task>> tasks = new HashMap<>();
+        private final Map<String, List<Task>> tasksByProjectName = new HashMap<>();
+        // Colonne id des projets lus, pour rattacher ensuite les tâches qui s'y réfèrent
+        private final Map<Project, Integer> sourceIds = new IdentityHashMap<>();
+        // Import binaire : tâches groupées par projet, identifiant résolu à l'insertion
+        private final Map<Project, List<Task>> projectTasks = new IdentityHashMap<>();
+        private final List<String> errors = new ArrayList<>();
+        private int read;
+        private int rejected;
+
+        private void reject(String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(message);
+            }
+        }
+    }
+
+    // ==================== ANALYSE DES LIGNES ====================
+
+    /**
+     * Découpe un enregistrement CSV (RFC 4180) et range ses champs selon {@code slots}.
+     * Un champ vide vaut null, comme à l'export.
+     */
+    private static String[] csvValues(String record, int[] slots, int columnCount) {
+        List<String> fields = splitCsv(record);
+        String[] values = new String[columnCount];
+        for (int i = 0; i < fields.size() && i < slots.length; i++) {
+            String field = fields.get(i);
+            if (slots[i] >= 0 && !field.isEmpty()) {
+                values[slots[i]] = field;
+            }
+        }
+        return values;
+    }
+
+    private static List<String> splitCsv(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c != '\r') {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("guillemet non fermé");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Lit une ligne JSON Lines ; les clés inconnues sont ignorées.
+     */
+    private static String[] jsonValues(String record, Map<String, Integer> keys, int columnCount) {
+        String[] values = new String[columnCount];
+        Json.parseObject(record, (key, value) -> {
+            Integer slot = keys.get(key.toLowerCase(Locale.ROOT));
+            if (slot != null) {
+                values[slot] = value;
+            }
+        });
+        return values;
+    }
+}
@@ -0,0 +1,39 @@
+package com.project.services;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import com.project.exceptions.OptimisticLockException;
+
+/**
+ * Rejoue une lecture-modification-écriture tant qu'elle échoue sur une modification
+ * concurrente, avec une courte attente aléatoire croissante entre deux essais.
+ */
+final class OptimisticRetry {
+
+    private OptimisticRetry() {
+    }
+
+    static int defaultMaxAttempts() {
+        return Integer.getInteger("update.maxAttempts", 3);
+    }
+
+    /**
+     * @param attempt relit l'élément, le modifie et l'enregistre
+     * @throws OptimisticLockException si le dernier essai échoue encore
+     */
+    static <T> T run(int maxAttempts, Supplier<T> attempt) {
+        for (int i = 1;; i++) {
+            try {
+                return attempt.get();
+            } catch (OptimisticLockException e) {
+                if (i >= maxAttempts) {
+                    throw e;
+                }
+                // Décale les essais concurrents pour qu'ils ne se percutent pas à nouveau
+                LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(i * 1_000_000L));
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.project.services;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import com.project.entity.Task;
+import com.project.entity.TaskWithProject;
+import com.project.enums.TaskStatus;
+import com.project.interfaces.TaskListener;
+
+/**
+ * Ensemble des tâches non terminées trié par échéance, tenu à jour par les
+ * notifications de TaskService.
+ *
+ * Chaque écriture coûte O(log n) ; les tâches en retard sont le préfixe de
+ * l'ensemble dont l'échéance précède la date du jour.
+ */
+public class OverdueTracker implements TaskListener {
+
+    private static final Comparator<Entry> BY_DUE_DATE = Comparator
+            .comparing((Entry e) -> e.dueDate)
+            .thenComparing(e -> e.name);
+
+    private final TreeSet<Entry> openTasks = new TreeSet<>(BY_DUE_DATE);
+    private final Map<String, Entry> byName = new HashMap<>();
+
+    @Override
+    public synchronized void taskAdded(Task task, String projectName) {
+        Entry previous = byName.get(task.getName());
+        put(task, projectName == null && previous != null ? previous.projectName : projectName);
+    }
+
+    @Override
+    public synchronized void taskUpdated(Task task) {
+        Entry previous = byName.get(task.getName());
+        put(task, previous != null ? previous.projectName : null);
+    }
+
+    @Override
+    public synchronized void taskDeleted(Task task) {
+        remove(task.getName());
+    }
+
+    /**
+     * @return les tâches non terminées dont l'échéance est strictement antérieure à {@code today}
+     */
+    public synchronized List<TaskWithProject> getOverdueTasks(LocalDate today) {
+        List<TaskWithProject> overdue = new ArrayList<>();
+        for (Entry entry : openTasks.headSet(new Entry(null, null, today), false)) {
+            overdue.add(new TaskWithProject(entry.task, entry.projectName));
+        }
+        return overdue;
+    }
+
+    /**
+     * @return toutes les tâches non terminées, par échéance croissante
+     */
+    public synchronized List<Task> getOpenTasks() {
+        List<Task> tasks = new ArrayList<>(openTasks.size());
+        openTasks.forEach(e -> tasks.add(e.task));
+        return tasks;
+    }
+
+    private void put(Task task, String projectName) {
+        remove(task.getName());
+        if (task.getStatus() == TaskStatus.DONE || task.getDueDate() == null) {
+            return;
+        }
+        Entry entry = new Entry(task, projectName, task.getDueDate());
+        openTasks.add(entry);
+        byName.put(entry.name, entry);
+    }
+
+    private void remove(String name) {
+        Entry entry = byName.remove(name);
+        if (entry != null) {
+            openTasks.remove(entry);
+        }
+    }
+
+    private static final class Entry {
+        private final Task task;
+        private final String projectName;
+        // Clé de tri figée : la tâche peut être modifiée avant la notification
+        private final String name;
+        private final LocalDate dueDate;
+
+        private Entry(Task task, String projectName, LocalDate dueDate) {
+            this.task = task;
+            this.projectName = projectName;
+            this.name = task != null ? task.getName() : "";
+            this.dueDate = dueDate;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.project.services;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.project.entity.ProjectRollup;
+import com.project.entity.Task;
+import com.project.enums.TaskPriority;
+import com.project.enums.TaskStatus;
+import com.project.interfaces.TaskListener;
+
+/**
+ * Compteurs de tâches par statut et par priorité pour chaque projet, tenus à jour
+ * par les notifications de TaskService.
+ *
+ * Chaque tâche garde le projet, le statut et la priorité sous lesquels elle est
+ * comptée, ce qui permet de décrémenter les bons compteurs lors d'une mise à jour
+ * ou d'une suppression.
+ */
+public class ProjectRollupTracker implements TaskListener {
+
+    private final Map<String, Counters> byProject = new HashMap<>();
+    private final Map<String, Placement> byTask = new HashMap<>();
+
+    @Override
+    public synchronized void taskAdded(Task task, String projectName) {
+        Placement previous = byTask.get(task.getName());
+        if (projectName == null && previous != null) {
+            projectName = previous.projectName;
+        }
+        remove(task.getName());
+        Placement placement = new Placement(projectName, task.getStatus(), task.getPriority());
+        byTask.put(task.getName(), placement);
+        count(placement, 1);
+    }
+
+    @Override
+    public synchronized void taskUpdated(Task task) {
+        Placement previous = byTask.get(task.getName());
+        if (previous == null) {
+            return; // projet inconnu : rien à compter
+        }
+        taskAdded(task, previous.projectName);
+    }
+
+    @Override
+    public synchronized void taskDeleted(Task task) {
+        remove(task.getName());
+    }
+
+    /**
+     * @return les compteurs du projet (vides si le projet n'a aucune tâche connue)
+     */
+    public synchronized ProjectRollup getRollup(String projectName) {
+        Counters counters = byProject.get(projectName);
+        if (counters == null) {
+            return ProjectRollup.empty(projectName);
+        }
+        return new ProjectRollup(projectName, counters.byStatus, counters.byPriority);
+    }
+
+    private void remove(String taskName) {
+        Placement placement = byTask.remove(taskName);
+        if (placement != null) {
+            count(placement, -1);
+        }
+    }
+
+    private void count(Placement placement, int delta) {
+        if (placement.projectName == null) {
+            return;
+        }
+        Counters counters = byProject.computeIfAbsent(placement.projectName, k -> new Counters());
+        if (placement.status != null) {
+            counters.byStatus[placement.status.ordinal()] += delta;
+        }
+        if (placement.priority != null) {
+            counters.byPriority[placement.priority.ordinal()] += delta;
+        }
+    }
+
+    private static final class Counters {
+        private final int[] byStatus = new int[TaskStatus.values().length];
+        private final int[] byPriority = new int[TaskPriority.values().length];
+    }
+
+    private static final class Placement {
+        private final String projectName;
+        private final TaskStatus status;
+        private final TaskPriority priority;
+
+        private Placement(String projectName, TaskStatus status, TaskPriority priority) {
+            this.projectName = projectName;
+            this.status = status;
+            this.priority = priority;
+        }
+    }
+}
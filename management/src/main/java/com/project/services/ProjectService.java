@@ -1,9 +1,15 @@
 package com.project.services;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import com.project.entity.Project;
+import com.project.entity.ProjectRollup;
+import com.project.entity.ProjectStatistics;
 import com.project.exceptions.BusinessException;
 import com.project.exceptions.DuplicateProjectException;
 import com.project.exceptions.DuplicateTaskException;
@@ -11,17 +17,24 @@ import com.project.interfaces.IProjectRepository;
 
 public class ProjectService {
     private final IProjectRepository projectRepo;
+    private final ProjectRollupTracker rollups;
+    private final AsyncExecutor async;
 
-    public ProjectService(IProjectRepository projectRepo) {
+    /**
+     * @param rollups compteurs par projet, à abonner aux notifications de TaskService
+     * @param async   exécuteur des méthodes *Async, à dimensionner sur le pool de connexions ;
+     *                il reste à la charge de l'appelant, qui le ferme
+     */
+    public ProjectService(IProjectRepository projectRepo, ProjectRollupTracker rollups, AsyncExecutor async) {
         this.projectRepo = projectRepo;
+        this.rollups = rollups;
+        this.async = async;
     }
 
     public Project createProject(String name, String description)
             throws DuplicateProjectException, SQLException {
 
-        if (name == null || name.trim().isEmpty()) {
-            throw new IllegalArgumentException("Le nom du projet ne peut pas être vide");
-        }
+        validateProject(name);
 
         Project project = projectRepo.create(name, description);
         projectRepo.add(project);
@@ -29,10 +42,40 @@ public class ProjectService {
         return project;
     }
 
+    /**
+     * Règles de validation d'un nouveau projet, partagées avec l'import en masse
+     */
+    public static void validateProject(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Le nom du projet ne peut pas être vide");
+        }
+    }
+
+    /**
+     * Insère par lots des projets déjà validés ; les doublons sont signalés par l'exception
+     */
+    public void addProjects(Collection<Project> projects) throws DuplicateProjectException, SQLException {
+        projectRepo.addAll(projects);
+    }
+
     public List<Project> getAllProjects() throws SQLException {
         return projectRepo.getAll();
     }
 
+    /**
+     * Parcourt tous les projets sans les charger en mémoire (le Stream doit être fermé)
+     */
+    public Stream<Project> streamAllProjects() throws SQLException {
+        return projectRepo.streamAll();
+    }
+
+    /**
+     * Nombre de projets par statut et progression moyenne, calculés sans charger les projets
+     */
+    public ProjectStatistics getStatistics() throws SQLException {
+        return projectRepo.getStatistics();
+    }
+
     public void displayProjectsSummary() throws SQLException {
         List<Project> projects = projectRepo.getAll();
         if (projects.isEmpty()) {
@@ -54,6 +97,21 @@ public class ProjectService {
         return project;
     }
 
+    public Project findById(int id) throws BusinessException, SQLException {
+        Project project = projectRepo.findById(id);
+        if (project == null) {
+            throw new BusinessException("Projet non trouvé: #" + id);
+        }
+        return project;
+    }
+
+    /**
+     * Nombre de tâches du projet par statut et par priorité, sans requête
+     */
+    public ProjectRollup getProjectRollup(String projectName) {
+        return rollups.getRollup(projectName);
+    }
+
     public boolean updateProject(Project project) throws BusinessException {
         try {
             // Validation avant mise à jour
@@ -61,17 +119,63 @@ public class ProjectService {
                 throw new BusinessException("Le nom du projet ne peut pas être vide");
             }
 
-            return projectRepo.update(project);
+            // Par identifiant s'il est connu : clé primaire plutôt que nom
+            return project.getId() != 0 ? projectRepo.updateById(project) : projectRepo.update(project);
         } catch (SQLException e) {
             throw new BusinessException("Erreur lors de la mise à jour du projet: " + e.getMessage());
         }
     }
 
+    /**
+     * Relit le projet, applique {@code changes} à une copie et l'enregistre. Si le projet a été
+     * modifié entre-temps, recommence à partir de la version enregistrée, au plus
+     * {@code update.maxAttempts} fois (3 par défaut).
+     *
+     * @return le projet enregistré
+     * @throws com.project.exceptions.OptimisticLockException si tous les essais ont échoué
+     */
+    public Project updateProject(String name, Consumer<Project> changes) throws BusinessException {
+        return OptimisticRetry.run(OptimisticRetry.defaultMaxAttempts(), () -> {
+            Project edited = findByName(name).copy();
+            changes.accept(edited);
+            if (!updateProject(edited)) {
+                throw new BusinessException("Projet non trouvé: " + name);
+            }
+            return edited;
+        });
+    }
+
     public boolean deleteProject(Project project) throws BusinessException, DuplicateTaskException, SQLException {
         // Vérifier s'il y a des tâches associées
         if (!project.getTasks().isEmpty()) {
             throw new BusinessException("Impossible de supprimer - le projet contient des tâches");
         }
-        return projectRepo.delete(project);
+        return project.getId() != 0 ? projectRepo.deleteById(project.getId()) : projectRepo.delete(project);
+    }
+
+    // Variantes asynchrones, exécutées sur l'AsyncExecutor
+
+    public CompletableFuture<Project> createProjectAsync(String name, String description) {
+        return async.supply(() -> createProject(name, description));
+    }
+
+    public CompletableFuture<List<Project>> getAllProjectsAsync() {
+        return async.supply(this::getAllProjects);
+    }
+
+    public CompletableFuture<ProjectStatistics> getStatisticsAsync() {
+        return async.supply(this::getStatistics);
+    }
+
+    public CompletableFuture<Project> findByNameAsync(String name) {
+        return async.supply(() -> findByName(name));
+    }
+
+    public CompletableFuture<Boolean> updateProjectAsync(Project project) {
+        return async.supply(() -> updateProject(project));
+    }
+
+    public CompletableFuture<Boolean> deleteProjectAsync(Project project) {
+        return async.supply(() -> deleteProject(project));
     }
-}
\ No newline at end of file
+}
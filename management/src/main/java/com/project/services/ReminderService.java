@@ -1,40 +1,216 @@
 package com.project.services;
 
+import java.time.Clock;
 import java.time.LocalDate;
-import java.util.List;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import com.project.entity.Task;
+import com.project.entity.TaskSnapshot;
+import com.project.entity.TaskState;
 import com.project.enums.TaskStatus;
+import com.project.interfaces.TaskListener;
+import com.project.jfr.ReminderCheckEvent;
 
-public class ReminderService {
+/**
+ * Émet un rappel pour chaque tâche dont l'échéance est dépassée.
+ *
+ * Les échéances sont rangées dans un ensemble trié : le service dort jusqu'à
+ * la prochaine échéance au lieu de parcourir toutes les tâches périodiquement,
+ * et chaque tâche ne déclenche qu'un seul rappel. Abonné à TaskService, il
+ * replanifie les tâches créées, modifiées ou supprimées en O(log n).
+ *
+ * Chaque échéance garde une copie immuable ({@link TaskState}) de la tâche prise au
+ * moment de la notification : le thread des rappels ne lit jamais les objets Task
+ * que la console modifie.
+ */
+public class ReminderService implements TaskListener {
 
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
-    private final List<Task> tasks;
+    private final Clock clock;
+    private final TreeSet<Deadline> deadlines = new TreeSet<>(
+            Comparator.comparingLong((Deadline d) -> d.overdueAt).thenComparing(d -> d.name));
+    private final Map<String, Deadline> byName = new HashMap<>();
+    // Échéance pour laquelle chaque tâche a déjà reçu son rappel
+    private final Map<String, LocalDate> notified = new HashMap<>();
 
+    // Créé par start() et arrêté par stop() : aucun thread tant que les rappels sont inactifs
+    private ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> nextWakeUp;
+    private boolean running;
 
-    public ReminderService(List<Task> tasks) {
-        this.tasks = tasks;
+    public ReminderService(Collection<Task> tasks) {
+        this(tasks, Clock.systemDefaultZone());
     }
 
-    public void start(){
-        scheduler.scheduleAtFixedRate(()-> checkOverdueTasks(),0,1,TimeUnit.MILLISECONDS);
+    public ReminderService(Collection<Task> tasks, Clock clock) {
+        this.clock = clock;
+        for (Task task : tasks) {
+            schedule(TaskState.of(task, null));
+        }
     }
 
-    private void checkOverdueTasks() {
-        tasks.stream()
-             .filter(t -> t.getDueDate().isBefore(LocalDate.now()) && t.getStatus() != TaskStatus.DONE)
-             .forEach(t -> System.out.println("⚠️ Tâche en retard : " + t.getName() + " (échéance " + t.getDueDate() + ")"));
+    /**
+     * Planifie les tâches d'un instantané de {@link TaskStore}.
+     */
+    public ReminderService(TaskSnapshot snapshot) {
+        this(snapshot, Clock.systemDefaultZone());
+    }
+
+    public ReminderService(TaskSnapshot snapshot, Clock clock) {
+        this.clock = clock;
+        for (TaskState task : snapshot.getAll()) {
+            schedule(task);
+        }
+    }
+
+    /**
+     * Démarre le thread des rappels et planifie la prochaine échéance.
+     */
+    public synchronized void start() {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "reminder-service");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        running = true;
+        reschedule();
+    }
+
+    /**
+     * Annule la prochaine vérification et arrête le thread des rappels ; les échéances restent suivies.
+     */
+    public synchronized void stop() {
+        running = false;
+        nextWakeUp = null;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Planifie (ou replanifie) le rappel d'une tâche. Une tâche terminée n'est pas planifiée.
+     */
+    public void track(Task task) {
+        track(TaskState.of(task, null));
+    }
+
+    public synchronized void track(TaskState task) {
+        Deadline head = deadlines.isEmpty() ? null : deadlines.first();
+        schedule(task);
+        if (running && head != (deadlines.isEmpty() ? null : deadlines.first())) {
+            reschedule();
+        }
+    }
+
+    @Override
+    public void taskAdded(Task task, String projectName) {
+        track(task);
+    }
+
+    @Override
+    public void taskUpdated(Task task) {
+        track(task);
+    }
+
+    @Override
+    public synchronized void taskDeleted(Task task) {
+        untrack(task.getName());
+        notified.remove(task.getName());
+    }
+
+    /**
+     * Range l'échéance de la tâche, sans réveiller le thread des rappels.
+     */
+    private void schedule(TaskState task) {
+        untrack(task.getName());
+        if (task.getStatus() != TaskStatus.DONE && task.getDueDate() != null
+                && !task.getDueDate().equals(notified.get(task.getName()))) {
+            Deadline deadline = new Deadline(task, overdueAt(task.getDueDate()));
+            deadlines.add(deadline);
+            byName.put(deadline.name, deadline);
+        }
+    }
+
+    private void untrack(String name) {
+        Deadline previous = byName.remove(name);
+        if (previous != null) {
+            deadlines.remove(previous);
+        }
     }
 
-    public void stop(){
-        scheduler.shutdown();
+    public synchronized int getPendingCount() {
+        return deadlines.size();
     }
 
-    
+    /**
+     * Une tâche est en retard dès le lendemain de son échéance, à minuit.
+     */
+    private long overdueAt(LocalDate dueDate) {
+        return dueDate.plusDays(1).atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+    }
 
-    
+    private void checkOverdueTasks() {
+        ReminderCheckEvent event = new ReminderCheckEvent();
+        event.begin();
+        int examined = 0;
+        int emitted = 0;
+        synchronized (this) {
+            long now = clock.millis();
+            while (!deadlines.isEmpty() && deadlines.first().overdueAt <= now) {
+                Deadline deadline = deadlines.pollFirst();
+                byName.remove(deadline.name);
+                examined++;
+                // Copie immuable : une modification ultérieure arrive par taskUpdated et replanifie
+                TaskState t = deadline.task;
+                notified.put(deadline.name, t.getDueDate());
+                emitted++;
+                System.out.println("⚠️ Tâche en retard : " + t.getName() + " (échéance " + t.getDueDate() + ")");
+            }
+            if (running) {
+                reschedule();
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = "checkOverdueTasks";
+                event.examined = examined;
+                event.notified = emitted;
+                event.pending = deadlines.size();
+                event.commit();
+            }
+        }
+    }
 
+    private void reschedule() {
+        if (nextWakeUp != null) {
+            nextWakeUp.cancel(false);
+            nextWakeUp = null;
+        }
+        if (!deadlines.isEmpty()) {
+            Deadline next = deadlines.first();
+            long delay = Math.max(0, next.overdueAt - clock.millis());
+            nextWakeUp = scheduler.schedule(this::checkOverdueTasks, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static final class Deadline {
+        private final TaskState task;
+        private final String name;
+        private final long overdueAt;
+
+        private Deadline(TaskState task, long overdueAt) {
+            this.task = task;
+            this.name = task.getName();
+            this.overdueAt = overdueAt;
+        }
+    }
 }
@@ -2,54 +2,120 @@ package com.project.services;
 
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import com.project.entity.Project;
 import com.project.entity.Task;
+import com.project.entity.TaskWithProject;
 import com.project.enums.TaskPriority;
 import com.project.enums.TaskStatus;
 import com.project.exceptions.BusinessException;
 import com.project.exceptions.DuplicateTaskException;
 import com.project.interfaces.ITaskRepository;
+import com.project.interfaces.TaskListener;
 
 public class TaskService {
     private final ITaskRepository taskRepository;
+    private final List<TaskListener> listeners = new CopyOnWriteArrayList<>();
+    private final AsyncExecutor async;
 
-    public TaskService(ITaskRepository taskRepository) {
+    /**
+     * @param async exécuteur des méthodes *Async, à dimensionner sur le pool de connexions ;
+     *              il reste à la charge de l'appelant, qui le ferme
+     */
+    public TaskService(ITaskRepository taskRepository, AsyncExecutor async) {
         this.taskRepository = taskRepository;
+        this.async = async;
+    }
+
+    /**
+     * Abonne un listener aux créations, mises à jour et suppressions de tâches
+     */
+    public void addListener(TaskListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(TaskListener listener) {
+        listeners.remove(listener);
     }
 
     /**
-     * Crée une nouvelle tâche avec validation
+     * Crée une nouvelle tâche avec validation, sans projet de rattachement
      */
     public Task createTask(String name, String description, LocalDate dueDate,
             TaskStatus status, TaskPriority priority)
             throws BusinessException, SQLException {
 
-        // Validation
+        validateTask(name, dueDate);
+
+        // Création et sauvegarde
+        Task task = taskRepository.create(name, description, dueDate, status, priority);
+        taskRepository.add(task, 0);
+        listeners.forEach(l -> l.taskAdded(task, null));
+
+        return task;
+    }
+
+    /**
+     * Règles de validation d'une nouvelle tâche, partagées avec l'import en masse
+     */
+    public static void validateTask(String name, LocalDate dueDate) throws BusinessException {
         if (name == null || name.trim().isEmpty()) {
             throw new BusinessException("Le nom de la tâche ne peut pas être vide");
         }
+        if (dueDate == null) {
+            throw new BusinessException("La date d'échéance est obligatoire");
+        }
         if (dueDate.isBefore(LocalDate.now())) {
             throw new BusinessException("La date d'échéance ne peut pas être dans le passé");
         }
+    }
 
-        // Création et sauvegarde
-        Task task = taskRepository.create(name, description, dueDate, status, priority);
-        taskRepository.add(task, 0);
-
-        return task;
+    /**
+     * Insère par lots des tâches déjà validées. Les listeners reçoivent les tâches insérées
+     * en un seul appel groupé ; les doublons sont ignorés puis signalés par l'exception.
+     *
+     * @param projectName nom du projet {@code projectId}, transmis aux listeners ; null pour des tâches sans projet
+     */
+    public void addTasks(Collection<Task> tasks, int projectId, String projectName)
+            throws DuplicateTaskException, SQLException {
+        try {
+            taskRepository.addAll(tasks, projectId);
+            listeners.forEach(l -> l.tasksAdded(tasks, projectName));
+        } catch (DuplicateTaskException e) {
+            Set<String> duplicates = new HashSet<>(e.getNames());
+            List<Task> inserted = tasks.stream()
+                    .filter(t -> !duplicates.contains(t.getName()))
+                    .toList();
+            listeners.forEach(l -> l.tasksAdded(inserted, projectName));
+            throw e;
+        }
     }
 
     /**
-     * Ajoute une tâche à un projet spécifique
+     * Valide puis enregistre une nouvelle tâche rattachée au projet {@code project},
+     * déjà enregistré
      */
-    public void addTaskToProject(Task task, String projectName)
+    public void addTaskToProject(Task task, Project project)
             throws BusinessException, SQLException {
+        validateTask(task.getName(), task.getDueDate());
+        if (project.getId() == 0) {
+            throw new BusinessException("Projet non enregistré: " + project.getName());
+        }
         try {
             if (taskRepository.findByName(task.getName()) != null) {
                 throw new DuplicateTaskException("Une tâche avec ce nom existe déjà");
             }
-            taskRepository.add(task, 0);
+            taskRepository.add(task, project.getId());
+            listeners.forEach(l -> l.taskAdded(task, project.getName()));
         } catch (SQLException e) {
             throw new BusinessException("Erreur lors de l'ajout de la tâche: " + e.getMessage());
         }
@@ -66,6 +132,39 @@ public class TaskService {
         }
     }
 
+    /**
+     * Parcourt toutes les tâches sans les charger en mémoire (le Stream doit être fermé)
+     */
+    public Stream<Task> streamAllTasks() throws BusinessException {
+        try {
+            return taskRepository.streamAll();
+        } catch (SQLException e) {
+            throw new BusinessException("Erreur lors de la récupération des tâches");
+        }
+    }
+
+    /**
+     * Parcourt toutes les tâches avec le nom de leur projet, en une seule requête (le Stream doit être fermé)
+     */
+    public Stream<TaskWithProject> streamAllTasksWithProject() throws BusinessException {
+        try {
+            return taskRepository.streamAllWithProject();
+        } catch (SQLException e) {
+            throw new BusinessException("Erreur lors de la récupération des tâches");
+        }
+    }
+
+    /**
+     * Compte les tâches par statut sans les charger
+     */
+    public Map<TaskStatus, Long> countTasksByStatus() throws BusinessException {
+        try {
+            return taskRepository.countByStatus();
+        } catch (SQLException e) {
+            throw new BusinessException("Erreur lors du comptage des tâches");
+        }
+    }
+
     /**
      * Trouve une tâche par son nom
      */
@@ -78,25 +177,69 @@ public class TaskService {
     }
 
     /**
-     * Met à jour une tâche existante
+     * Trouve une tâche par son identifiant
+     */
+    public Task findById(int id) throws BusinessException {
+        try {
+            return taskRepository.findById(id);
+        } catch (SQLException e) {
+            throw new BusinessException("Erreur lors de la recherche de la tâche");
+        }
+    }
+
+    /**
+     * Met à jour une tâche existante, retrouvée par son identifiant s'il est connu
      */
     public boolean updateTask(Task task) throws BusinessException {
         try {
-            if (taskRepository.findByName(task.getName()) == null) {
+            boolean byId = task.getId() != 0;
+            Task existing = byId ? taskRepository.findById(task.getId()) : taskRepository.findByName(task.getName());
+            if (existing == null) {
                 throw new BusinessException("Tâche non trouvée");
             }
-            return taskRepository.update(task);
+            boolean updated = byId ? taskRepository.updateById(task) : taskRepository.update(task);
+            if (updated) {
+                listeners.forEach(l -> l.taskUpdated(task));
+            }
+            return updated;
         } catch (SQLException e) {
             throw new BusinessException("Erreur lors de la mise à jour");
         }
     }
 
     /**
-     * Supprime une tâche
+     * Relit la tâche, applique {@code changes} à une copie et l'enregistre. Si la tâche a été
+     * modifiée entre-temps, recommence à partir de la version enregistrée, au plus
+     * {@code update.maxAttempts} fois (3 par défaut).
+     *
+     * @return la tâche enregistrée
+     * @throws com.project.exceptions.OptimisticLockException si tous les essais ont échoué
+     */
+    public Task updateTask(String name, Consumer<Task> changes) throws BusinessException {
+        return OptimisticRetry.run(OptimisticRetry.defaultMaxAttempts(), () -> {
+            Task current = findByName(name);
+            if (current == null) {
+                throw new BusinessException("Tâche non trouvée");
+            }
+            Task edited = current.copy();
+            changes.accept(edited);
+            if (!updateTask(edited)) {
+                throw new BusinessException("Tâche non trouvée");
+            }
+            return edited;
+        });
+    }
+
+    /**
+     * Supprime une tâche, par son identifiant s'il est connu
      */
     public boolean deleteTask(Task task) throws BusinessException {
         try {
-            return taskRepository.delete(task);
+            boolean deleted = task.getId() != 0 ? taskRepository.deleteById(task.getId()) : taskRepository.delete(task);
+            if (deleted) {
+                listeners.forEach(l -> l.taskDeleted(task));
+            }
+            return deleted;
         } catch (SQLException e) {
             throw new BusinessException("Erreur lors de la suppression");
         }
@@ -113,5 +256,78 @@ public class TaskService {
         }
     }
 
-    
+    /**
+     * Tâches rattachées au projet, lues par son identifiant
+     */
+    public List<Task> getTasksByProject(Project project) throws BusinessException {
+        if (project.getId() == 0) {
+            throw new BusinessException("Projet non enregistré: " + project.getName());
+        }
+        try {
+            return taskRepository.findByProjectId(project.getId());
+        } catch (SQLException e) {
+            throw new BusinessException("Erreur lors de la recherche des tâches du projet");
+        }
+    }
+
+    /**
+     * Parcourt les tâches d'un statut sans les charger en mémoire (le Stream doit être fermé)
+     */
+    public Stream<Task> streamTasksByStatus(TaskStatus status) throws BusinessException {
+        try {
+            return taskRepository.streamByStatus(status);
+        } catch (SQLException e) {
+            throw new BusinessException("Erreur lors du filtrage par statut");
+        }
+    }
+
+    /**
+     * Parcourt les tâches d'un statut avec le nom de leur projet, en une seule requête (le Stream doit être fermé)
+     */
+    public Stream<TaskWithProject> streamTasksByStatusWithProject(TaskStatus status) throws BusinessException {
+        try {
+            return taskRepository.streamByStatusWithProject(status);
+        } catch (SQLException e) {
+            throw new BusinessException("Erreur lors du filtrage par statut");
+        }
+    }
+
+    // Variantes asynchrones : mêmes règles et mêmes notifications, exécutées sur l'AsyncExecutor
+
+    public CompletableFuture<Task> createTaskAsync(String name, String description, LocalDate dueDate,
+            TaskStatus status, TaskPriority priority) {
+        return async.supply(() -> createTask(name, description, dueDate, status, priority));
+    }
+
+    public CompletableFuture<Void> addTaskToProjectAsync(Task task, Project project) {
+        return async.supply(() -> {
+            addTaskToProject(task, project);
+            return null;
+        });
+    }
+
+    public CompletableFuture<List<Task>> getAllTasksAsync() {
+        return async.supply(this::getAllTasks);
+    }
+
+    public CompletableFuture<Task> findByNameAsync(String name) {
+        return async.supply(() -> findByName(name));
+    }
+
+    public CompletableFuture<Boolean> updateTaskAsync(Task task) {
+        return async.supply(() -> updateTask(task));
+    }
+
+    public CompletableFuture<Boolean> deleteTaskAsync(Task task) {
+        return async.supply(() -> deleteTask(task));
+    }
+
+    public CompletableFuture<List<Task>> getTasksByStatusAsync(TaskStatus status) {
+        return async.supply(() -> getTasksByStatus(status));
+    }
+
+    public CompletableFuture<Map<TaskStatus, Long>> countTasksByStatusAsync() {
+        return async.supply(this::countTasksByStatus);
+    }
+
 }
@@ -0,0 +1,73 @@
+package com.project.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import com.project.entity.Task;
+import com.project.entity.TaskSnapshot;
+import com.project.entity.TaskState;
+import com.project.interfaces.TaskListener;
+
+/**
+ * Dernier état connu de chaque tâche, publié sous forme d'instantanés immuables.
+ *
+ * Les écritures, reçues de TaskService, sont sérialisées entre elles et publient
+ * chacune un nouveau {@link TaskSnapshot}. Les lecteurs en arrière-plan (rappels,
+ * rapports, exports) prennent l'instantané courant sans verrou et le parcourent
+ * autant qu'ils veulent : il ne change pas sous eux et ne bloque aucune écriture.
+ */
+public class TaskStore implements TaskListener {
+
+    private volatile TaskSnapshot current = TaskSnapshot.empty();
+
+    /**
+     * @return l'instantané le plus récent ; deux lectures successives peuvent en donner deux versions différentes
+     */
+    public TaskSnapshot snapshot() {
+        return current;
+    }
+
+    public long getVersion() {
+        return current.getVersion();
+    }
+
+    /**
+     * Publie plusieurs tâches en une seule version, par exemple au chargement initial.
+     */
+    public synchronized void addAll(Collection<TaskState> states) {
+        current = current.withAll(states);
+    }
+
+    @Override
+    public synchronized void taskAdded(Task task, String projectName) {
+        current = current.with(TaskState.of(task, projectName != null ? projectName : projectOf(task)));
+    }
+
+    @Override
+    public synchronized void tasksAdded(Collection<Task> tasks, String projectName) {
+        List<TaskState> states = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            states.add(TaskState.of(task, projectName != null ? projectName : projectOf(task)));
+        }
+        current = current.withAll(states);
+    }
+
+    @Override
+    public synchronized void taskUpdated(Task task) {
+        current = current.with(TaskState.of(task, projectOf(task)));
+    }
+
+    @Override
+    public synchronized void taskDeleted(Task task) {
+        current = current.without(task.getName());
+    }
+
+    /**
+     * @return le projet sous lequel la tâche est déjà connue, pour le conserver lors d'une mise à jour
+     */
+    private String projectOf(Task task) {
+        TaskState previous = current.get(task.getName());
+        return previous != null ? previous.getProjectName() : null;
+    }
+}
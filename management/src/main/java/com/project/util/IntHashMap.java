@@ -0,0 +1,159 @@
+package com.project.util;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Table de hachage à clés {@code int} primitives, pour les index par identifiant.
+ *
+ * Contrairement à un {@code HashMap<Integer, V>}, les clés ne sont ni emballées
+ * dans des Integer ni comparées par equals : elles sont rangées dans un tableau
+ * d'entiers et sondées linéairement. Les valeurs null ne sont pas acceptées,
+ * {@link #get} retournant null pour une clé absente.
+ *
+ * Non synchronisée : l'appelant protège les accès concurrents.
+ */
+public final class IntHashMap<V> {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] keys;
+    private Object[] values;
+    // Nombre de cases occupées avant agrandissement (taux de remplissage de 1/2)
+    private int threshold;
+    private int mask;
+    private int size;
+
+    public IntHashMap() {
+        this(MIN_CAPACITY / 2);
+    }
+
+    public IntHashMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(int key) {
+        return values[slot(key)] != null;
+    }
+
+    /**
+     * @return la valeur associée à {@code key}, ou null si elle est absente
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        return (V) values[slot(key)];
+    }
+
+    /**
+     * @return la valeur précédemment associée à {@code key}, ou null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Les valeurs null ne sont pas acceptées");
+        }
+        int i = slot(key);
+        Object previous = values[i];
+        keys[i] = key;
+        values[i] = value;
+        if (previous == null && ++size > threshold) {
+            rehash(keys.length * 2);
+        }
+        return (V) previous;
+    }
+
+    /**
+     * @return la valeur retirée, ou null si {@code key} était absente
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int i = slot(key);
+        Object previous = values[i];
+        if (previous == null) {
+            return null;
+        }
+        // Recule les entrées suivantes de la même grappe pour ne pas laisser de trou dans leur sondage
+        int hole = i;
+        for (int j = (i + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+            int home = hash(keys[j]) & mask;
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                keys[hole] = keys[j];
+                values[hole] = values[j];
+                hole = j;
+            }
+        }
+        values[hole] = null;
+        size--;
+        return (V) previous;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Parcourt les valeurs, dans un ordre non spécifié.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachValue(Consumer<? super V> action) {
+        for (Object value : values) {
+            if (value != null) {
+                action.accept((V) value);
+            }
+        }
+    }
+
+    /**
+     * @return la case de {@code key}, ou la case vide où l'insérer
+     */
+    private int slot(int key) {
+        int i = hash(key) & mask;
+        while (values[i] != null && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    private static int hash(int key) {
+        // Mélange de Fibonacci : des identifiants consécutifs se répartissent sur toute la table
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity / 2 < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        threshold = capacity / 2;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int j = slot(oldKeys[i]);
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+}
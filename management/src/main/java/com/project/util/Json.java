@@ -0,0 +1,186 @@
+package com.project.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Encodage et lecture JSON minimalistes, sans réflexion ni dépendance.
+ *
+ * L'écriture se fait directement dans un StringBuilder fourni par l'appelant ;
+ * la lecture se limite aux objets plats (valeurs chaînes, nombres, booléens ou null),
+ * seul format échangé par l'export JSON Lines et l'API HTTP.
+ */
+public final class Json {
+
+    private Json() {
+    }
+
+    // ==================== ÉCRITURE ====================
+
+    /**
+     * Ajoute {@code value} sous forme de chaîne JSON échappée, ou {@code null}.
+     */
+    public static StringBuilder appendString(StringBuilder out, String value) {
+        if (value == null) {
+            return out.append("null");
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        return out.append('"');
+    }
+
+    /**
+     * Ajoute {@code "name":} ; à faire suivre de la valeur.
+     */
+    public static StringBuilder appendName(StringBuilder out, String name) {
+        return appendString(out, name).append(':');
+    }
+
+    // ==================== LECTURE ====================
+
+    /**
+     * Lit un objet JSON plat et le retourne dans l'ordre des clés.
+     *
+     * @throws IllegalArgumentException si le texte n'est pas un objet plat valide
+     */
+    public static Map<String, String> parseObject(String text) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        parseObject(text, fields::put);
+        return fields;
+    }
+
+    /**
+     * Lit un objet JSON plat et transmet chaque couple clé/valeur à {@code field}, sans
+     * construire de Map. Les chaînes sont décodées, les nombres et booléens transmis
+     * tels quels, {@code null} comme null.
+     *
+     * @throws IllegalArgumentException si le texte n'est pas un objet plat valide
+     */
+    public static void parseObject(String text, BiConsumer<String, String> field) {
+        Cursor in = new Cursor(text);
+        in.expect('{');
+        if (in.peek() == '}') {
+            in.pos++;
+        } else {
+            while (true) {
+                String key = in.string();
+                in.expect(':');
+                field.accept(key, in.value());
+                char c = in.next();
+                if (c == '}') {
+                    break;
+                }
+                if (c != ',') {
+                    throw new IllegalArgumentException("JSON invalide à la position " + (in.pos - 1));
+                }
+            }
+        }
+        if (in.peek() != 0) {
+            throw new IllegalArgumentException("JSON invalide : contenu après l'objet");
+        }
+    }
+
+    private static final class Cursor {
+        private final String text;
+        private int pos;
+
+        private Cursor(String text) {
+            this.text = text;
+        }
+
+        /**
+         * @return le prochain caractère significatif sans le consommer, 0 en fin de texte
+         */
+        private char peek() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+            return pos < text.length() ? text.charAt(pos) : 0;
+        }
+
+        private char next() {
+            char c = peek();
+            if (c == 0) {
+                throw new IllegalArgumentException("JSON incomplet");
+            }
+            pos++;
+            return c;
+        }
+
+        private void expect(char expected) {
+            if (next() != expected) {
+                throw new IllegalArgumentException(
+                        "JSON invalide : '" + expected + "' attendu à la position " + (pos - 1));
+            }
+        }
+
+        private String value() {
+            if (peek() == '"') {
+                return string();
+            }
+            int begin = pos;
+            while (pos < text.length() && ",}] \t\r\n".indexOf(text.charAt(pos)) < 0) {
+                pos++;
+            }
+            String token = text.substring(begin, pos);
+            if (token.isEmpty() || token.startsWith("{") || token.startsWith("[")) {
+                throw new IllegalArgumentException("JSON invalide : valeur simple attendue à la position " + begin);
+            }
+            return token.equals("null") ? null : token;
+        }
+
+        private String string() {
+            expect('"');
+            StringBuilder s = new StringBuilder();
+            while (true) {
+                if (pos >= text.length()) {
+                    throw new IllegalArgumentException("JSON invalide : chaîne non terminée");
+                }
+                char c = text.charAt(pos++);
+                if (c == '"') {
+                    return s.toString();
+                }
+                if (c != '\\') {
+                    s.append(c);
+                    continue;
+                }
+                if (pos >= text.length()) {
+                    throw new IllegalArgumentException("JSON invalide : échappement incomplet");
+                }
+                char e = text.charAt(pos++);
+                switch (e) {
+                    case 'n' -> s.append('\n');
+                    case 'r' -> s.append('\r');
+                    case 't' -> s.append('\t');
+                    case 'b' -> s.append('\b');
+                    case 'f' -> s.append('\f');
+                    case 'u' -> {
+                        if (pos + 4 > text.length()) {
+                            throw new IllegalArgumentException("JSON invalide : échappement incomplet");
+                        }
+                        s.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        pos += 4;
+                    }
+                    default -> s.append(e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+-- Verrouillage optimiste : chaque mise à jour compare puis incrémente la version de la ligne
+-- (UPDATE ... SET version = version + 1 WHERE nom = ? AND version = ?).
+-- À exécuter une fois sur la base gestion_projets ; les lignes existantes partent de la version 0.
+
+ALTER TABLE projets ADD COLUMN version INT NOT NULL DEFAULT 0;
+
+ALTER TABLE taches ADD COLUMN version INT NOT NULL DEFAULT 0;